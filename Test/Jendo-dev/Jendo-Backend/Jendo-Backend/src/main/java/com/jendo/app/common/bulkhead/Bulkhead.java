@@ -0,0 +1,77 @@
+package com.jendo.app.common.bulkhead;
+
+import com.jendo.app.common.dto.BulkheadStatsDto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool with a bounded queue reserved for one class of outbound
+ * dependency. When it is full, work is refused immediately instead of
+ * spilling onto request threads, so a slow upstream can only exhaust its
+ * own bulkhead.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int threads, int queueCapacity) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs {@code task} on the bulkhead. The future fails with
+     * {@link RejectedExecutionException} when the bulkhead is full.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public BulkheadStatsDto stats() {
+        int threads = executor.getMaximumPoolSize();
+        int active = executor.getActiveCount();
+        int queued = executor.getQueue().size();
+        return BulkheadStatsDto.builder()
+                .name(name)
+                .threads(threads)
+                .active(active)
+                .queued(queued)
+                .queueCapacity(queueCapacity)
+                .saturation((double) (active + queued) / (threads + queueCapacity))
+                .completed(executor.getCompletedTaskCount())
+                .rejected(rejected.get())
+                .build();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
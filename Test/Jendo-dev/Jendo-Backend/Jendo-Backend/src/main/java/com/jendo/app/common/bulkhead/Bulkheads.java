@@ -0,0 +1,55 @@
+package com.jendo.app.common.bulkhead;
+
+import com.jendo.app.common.dto.BulkheadStatsDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The application's bulkheads, one per outbound dependency class, each
+ * sized separately under {@code bulkheads.*}: Hugging Face chatbot calls,
+ * on-demand Groq tip generation, and Google token verification.
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead chatbot;
+    private final Bulkhead wellness;
+    private final Bulkhead googleAuth;
+
+    public Bulkheads(@Value("${bulkheads.chatbot.threads:16}") int chatbotThreads,
+                     @Value("${bulkheads.chatbot.queue-capacity:32}") int chatbotQueue,
+                     @Value("${bulkheads.wellness.threads:8}") int wellnessThreads,
+                     @Value("${bulkheads.wellness.queue-capacity:32}") int wellnessQueue,
+                     @Value("${bulkheads.google-auth.threads:4}") int googleAuthThreads,
+                     @Value("${bulkheads.google-auth.queue-capacity:16}") int googleAuthQueue) {
+        this.chatbot = new Bulkhead("chatbot", chatbotThreads, chatbotQueue);
+        this.wellness = new Bulkhead("wellness", wellnessThreads, wellnessQueue);
+        this.googleAuth = new Bulkhead("google-auth", googleAuthThreads, googleAuthQueue);
+    }
+
+    public Bulkhead chatbot() {
+        return chatbot;
+    }
+
+    public Bulkhead wellness() {
+        return wellness;
+    }
+
+    public Bulkhead googleAuth() {
+        return googleAuth;
+    }
+
+    public List<BulkheadStatsDto> stats() {
+        return List.of(chatbot.stats(), wellness.stats(), googleAuth.stats());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        chatbot.shutdown();
+        wellness.shutdown();
+        googleAuth.shutdown();
+    }
+}
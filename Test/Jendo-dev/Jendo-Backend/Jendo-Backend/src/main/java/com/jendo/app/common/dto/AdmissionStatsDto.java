@@ -0,0 +1,22 @@
+package com.jendo.app.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionStatsDto {
+    private int inFlight;
+    private int maxConcurrent;
+    private int queueDepth;
+    private int maxQueue;
+    private long admitted;
+    private long degraded;
+    private long rejectedRateLimited;
+    private long rejectedOverloaded;
+    private long trackedClients;
+}
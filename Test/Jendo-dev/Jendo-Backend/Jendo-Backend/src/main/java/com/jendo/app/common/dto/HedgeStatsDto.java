@@ -0,0 +1,20 @@
+package com.jendo.app.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HedgeStatsDto {
+    private String target;
+    private long calls;
+    private long wins;
+    private long failures;
+    private long latencyP50Ms;
+    private long latencyP95Ms;
+    private long hedgeDelayMs;
+}
@@ -0,0 +1,23 @@
+package com.jendo.app.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundHostStatsDto {
+    private String host;
+    private String circuitState;
+    private int inFlight;
+    private long calls;
+    private long failures;
+    private long rejected;
+    private double latencyMeanMs;
+    private long latencyP50Ms;
+    private long latencyP95Ms;
+    private long latencyMaxMs;
+}
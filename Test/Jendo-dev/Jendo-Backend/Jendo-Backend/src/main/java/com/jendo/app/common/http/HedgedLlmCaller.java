@@ -0,0 +1,253 @@
+package com.jendo.app.common.http;
+
+import com.jendo.app.common.dto.HedgeStatsDto;
+import com.jendo.app.common.metrics.LatencyHistogram;
+import com.jendo.app.common.metrics.WindowedLatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Hedged calls across two interchangeable LLM targets. The primary is called
+ * first; if it has not produced a usable answer after its hedge delay (the
+ * configured percentile of its own latency over the last one to two
+ * windows), or fails before that,
+ * the backup is fired as well. The first non-null answer wins and the other
+ * call is cancelled. Latency is tracked per target so the delay follows how
+ * each model currently behaves, with a lifetime histogram kept alongside for
+ * the admin stats. A call cancelled for losing is recorded with its elapsed
+ * time at cancellation, a lower bound, so slow primaries are not censored
+ * out of their own latency.
+ */
+@Component
+@Slf4j
+public class HedgedLlmCaller {
+
+    private final double percentile;
+    private final long defaultDelayMs;
+    private final long minDelayMs;
+    private final long minSamples;
+    private final Duration window;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, TargetState> targets = new ConcurrentHashMap<>();
+
+    public HedgedLlmCaller(@Value("${llm.hedge.percentile:95}") double percentile,
+                           @Value("${llm.hedge.default-delay-ms:2000}") long defaultDelayMs,
+                           @Value("${llm.hedge.min-delay-ms:100}") long minDelayMs,
+                           @Value("${llm.hedge.min-samples:20}") long minSamples,
+                           @Value("${llm.hedge.window-seconds:60}") long windowSeconds) {
+        this.percentile = percentile;
+        this.defaultDelayMs = defaultDelayMs;
+        this.minDelayMs = minDelayMs;
+        this.minSamples = minSamples;
+        this.window = Duration.ofSeconds(windowSeconds);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "llm-hedge-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Completes with the first non-null answer from {@code primary} or
+     * {@code backup}, or with {@code null} when both fail or return nothing.
+     * {@code request} starts the call for a target and the future it returns
+     * is cancelled when the call loses; {@code parser} turns a response into
+     * an answer, returning {@code null} or throwing when it is not usable.
+     */
+    public <R, T> CompletableFuture<T> call(String primary, String backup,
+                                            Function<String, CompletableFuture<R>> request,
+                                            Function<R, T> parser) {
+        Hedge<R, T> hedge = new Hedge<>(primary, backup, request, parser);
+        hedge.launchPrimary();
+        ScheduledFuture<?> timer = scheduler.schedule(hedge::launchBackup, hedgeDelayMs(primary), TimeUnit.MILLISECONDS);
+        hedge.result.whenComplete((value, error) -> timer.cancel(false));
+        return hedge.result;
+    }
+
+    public long hedgeDelayMs(String target) {
+        TargetState state = targets.get(target);
+        if (state == null || state.recent.count() < minSamples) {
+            return defaultDelayMs;
+        }
+        return Math.max(minDelayMs, state.recent.percentileMs(percentile));
+    }
+
+    public List<HedgeStatsDto> stats() {
+        return targets.entrySet().stream()
+                .sorted(Comparator.comparing(ConcurrentMap.Entry::getKey))
+                .map(entry -> entry.getValue().toDto(entry.getKey(), hedgeDelayMs(entry.getKey())))
+                .toList();
+    }
+
+    private TargetState state(String target) {
+        return targets.computeIfAbsent(target, t -> new TargetState(window));
+    }
+
+    /**
+     * One hedged call: tracks the attempts in flight, completes the shared
+     * result with the first answer and cancels whatever is still running.
+     */
+    private final class Hedge<R, T> {
+        private final String primary;
+        private final String backup;
+        private final Function<String, CompletableFuture<R>> request;
+        private final Function<R, T> parser;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<Attempt<R>> attempts = new CopyOnWriteArrayList<>();
+        private boolean backupLaunched;
+        private boolean decided;
+        private int running;
+
+        private Hedge(String primary, String backup,
+                      Function<String, CompletableFuture<R>> request, Function<R, T> parser) {
+            this.primary = primary;
+            this.backup = backup;
+            this.request = request;
+            this.parser = parser;
+        }
+
+        private void launchPrimary() {
+            synchronized (this) {
+                running++;
+            }
+            start(primary);
+        }
+
+        private void launchBackup() {
+            synchronized (this) {
+                if (backupLaunched || decided) {
+                    return;
+                }
+                backupLaunched = true;
+                running++;
+            }
+            log.debug("Hedging LLM call to {}", backup);
+            start(backup);
+        }
+
+        private void start(String target) {
+            TargetState state = state(target);
+            state.calls.incrementAndGet();
+            long startedAt = System.nanoTime();
+            CompletableFuture<R> attempt = begin(target);
+            attempts.add(new Attempt<>(attempt, state, startedAt));
+            attempt.whenComplete((response, error) -> finish(state, startedAt, response, attempt, error));
+            if (result.isDone()) {
+                attempt.cancel(true);
+            }
+        }
+
+        private CompletableFuture<R> begin(String target) {
+            try {
+                return request.apply(target);
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+
+        private void finish(TargetState state, long startedAt, R response, CompletableFuture<R> attempt, Throwable error) {
+            T value = null;
+            if (error == null) {
+                try {
+                    value = parser.apply(response);
+                } catch (RuntimeException ex) {
+                    error = ex;
+                }
+            }
+            if (value != null) {
+                state.record(startedAt);
+                synchronized (this) {
+                    if (decided) {
+                        return;
+                    }
+                    decided = true;
+                }
+                state.wins.incrementAndGet();
+                // Cancel the loser before handing out the answer so it never outlives the call
+                attempts.stream()
+                        .filter(other -> other.future() != attempt && !other.future().isDone())
+                        .forEach(other -> {
+                            other.state().record(other.startedAt());
+                            other.future().cancel(true);
+                        });
+                result.complete(value);
+                return;
+            }
+            if (!(error instanceof CancellationException) && !(error != null && error.getCause() instanceof CancellationException)) {
+                state.failures.incrementAndGet();
+                log.debug("LLM call failed: {}", error != null ? error.getMessage() : "no usable answer");
+            }
+
+            boolean hedgeNow;
+            boolean exhausted;
+            synchronized (this) {
+                running--;
+                hedgeNow = !backupLaunched && !decided;
+                exhausted = backupLaunched && running == 0 && !decided;
+            }
+            if (hedgeNow) {
+                launchBackup();
+            } else if (exhausted) {
+                result.complete(null);
+            }
+        }
+    }
+
+    private record Attempt<R>(CompletableFuture<R> future, TargetState state, long startedAt) {
+    }
+
+    private static class TargetState {
+        // Lifetime latency for the stats; the hedge delay reads only the recent windows
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final WindowedLatencyHistogram recent;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong wins = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        private TargetState(Duration window) {
+            this.recent = new WindowedLatencyHistogram(window);
+        }
+
+        private void record(long startedAt) {
+            long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+            latency.record(elapsedMs);
+            recent.record(elapsedMs);
+        }
+
+        private HedgeStatsDto toDto(String target, long hedgeDelayMs) {
+            return HedgeStatsDto.builder()
+                    .target(target)
+                    .calls(calls.get())
+                    .wins(wins.get())
+                    .failures(failures.get())
+                    .latencyP50Ms(latency.percentileMs(50))
+                    .latencyP95Ms(latency.percentileMs(95))
+                    .hedgeDelayMs(hedgeDelayMs)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jendo.app.common.http;
+
+/**
+ * Raised by {@link LlmHttpClient} when an outbound call is rejected locally
+ * (open circuit, host saturated) or fails upstream. {@link #getStatusCode()}
+ * is {@code -1} when no HTTP response was received.
+ */
+public class LlmCallException extends RuntimeException {
+
+    private final int statusCode;
+
+    public LlmCallException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public LlmCallException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,276 @@
+package com.jendo.app.common.http;
+
+import com.jendo.app.common.dto.OutboundHostStatsDto;
+import com.jendo.app.common.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Shared outbound client for the LLM providers (Groq, Hugging Face).
+ * A single {@link HttpClient} is reused for every call so connections and TLS
+ * sessions stay pooled (HTTP/2 where the upstream supports it). Each upstream
+ * host gets its own concurrency limit, circuit breaker and latency histogram.
+ */
+@Component
+@Slf4j
+public class LlmHttpClient {
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final int maxConcurrentPerHost;
+    // How long a blocking postJson waits for a host permit; async and streaming calls never wait
+    private final long acquireTimeoutMs;
+    private final int failureThreshold;
+    private final long openMs;
+    private final ConcurrentMap<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    public LlmHttpClient(@Value("${llm.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+                         @Value("${llm.http.read-timeout-ms:30000}") long readTimeoutMs,
+                         @Value("${llm.http.max-concurrent-per-host:16}") int maxConcurrentPerHost,
+                         @Value("${llm.http.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+                         @Value("${llm.http.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                         @Value("${llm.http.circuit-breaker.open-ms:30000}") long openMs) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    public String postJson(String url, Map<String, String> headers, String body) {
+        return postJson(url, headers, body, readTimeout);
+    }
+
+    public String postJson(String url, Map<String, String> headers, String body, Duration timeout) {
+        try {
+            return send(url, headers, body, timeout, HttpResponse.BodyHandlers.ofString(), true).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Sends a JSON POST and completes with the body of a 2xx response.
+     * Never blocks the caller: fails at once with {@link LlmCallException}
+     * when the host's circuit is open or its concurrency limit is exhausted,
+     * and later when the call times out or the upstream answers with a
+     * non-2xx status.
+     */
+    public CompletableFuture<String> postJsonAsync(String url, Map<String, String> headers, String body, Duration timeout) {
+        return send(url, headers, body, timeout, HttpResponse.BodyHandlers.ofString(), false);
+    }
+
+    /**
+     * Sends a JSON POST and hands each line of a 2xx response body to
+     * {@code onLine} as it arrives, without holding a thread while the
+     * upstream is generating. {@code timeout} bounds the wait for response
+     * headers only. Completes when the body ends and fails like
+     * {@link #postJsonAsync}; {@code onLine} must not throw.
+     */
+    public CompletableFuture<Void> postJsonStreaming(String url, Map<String, String> headers, String body,
+                                                     Duration timeout, Consumer<String> onLine) {
+        return send(url, headers, body, timeout, responseInfo -> isSuccess(responseInfo.statusCode())
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(new LineSubscriber(onLine))
+                : HttpResponse.BodySubscribers.discarding(), false);
+    }
+
+    private <T> CompletableFuture<T> send(String url, Map<String, String> headers, String body, Duration timeout,
+                                          HttpResponse.BodyHandler<T> bodyHandler, boolean waitForPermit) {
+        URI uri = URI.create(url);
+        HostState host = hosts.computeIfAbsent(uri.getAuthority(), HostState::new);
+
+        if (!host.acquirePermit(waitForPermit)) {
+            host.rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new LlmCallException(
+                    "Concurrency limit reached for " + host.name, -1));
+        }
+        if (!host.breaker.tryAcquire()) {
+            host.permits.release();
+            host.rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new LlmCallException(
+                    "Circuit open for " + host.name, -1));
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(request::header);
+
+        long startedAt = System.nanoTime();
+        host.calls.incrementAndGet();
+        CompletableFuture<HttpResponse<T>> exchange;
+        try {
+            exchange = httpClient.sendAsync(request.build(), bodyHandler);
+        } catch (RuntimeException ex) {
+            host.permits.release();
+            host.breaker.onCancelled();
+            throw ex;
+        }
+        // Set by whichever comes first, the upstream outcome or the caller cancelling
+        AtomicBoolean settled = new AtomicBoolean();
+        CompletableFuture<T> result = exchange.handle((response, error) -> complete(host, startedAt, settled, response, error));
+        // Cancelling the caller's future aborts the exchange instead of leaving it running. The
+        // permit is freed right away: an aborted exchange may only complete once upstream answers
+        result.whenComplete((responseBody, error) -> {
+            if (error instanceof CancellationException) {
+                if (settled.compareAndSet(false, true)) {
+                    host.permits.release();
+                    host.breaker.onCancelled();
+                }
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public List<OutboundHostStatsDto> stats() {
+        return hosts.values().stream()
+                .sorted(Comparator.comparing(h -> h.name))
+                .map(HostState::toDto)
+                .toList();
+    }
+
+    private <T> T complete(HostState host, long startedAt, AtomicBoolean settled, HttpResponse<T> response, Throwable error) {
+        if (!settled.compareAndSet(false, true)) {
+            // Already cancelled by the caller; whatever the aborted exchange ended with is not counted
+            throw new CancellationException("Cancelled by caller");
+        }
+        host.permits.release();
+
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                // Abandoned by the caller (e.g. a hedged call that lost), not an upstream failure
+                host.breaker.onCancelled();
+                throw (CancellationException) cause;
+            }
+            host.latency.recordSince(startedAt);
+            host.failures.incrementAndGet();
+            host.breaker.onFailure();
+            String reason = cause instanceof HttpTimeoutException ? "Timed out calling " : "I/O error calling ";
+            throw new LlmCallException(reason + host.name + ": " + cause.getMessage(), cause);
+        }
+
+        host.latency.recordSince(startedAt);
+        int status = response.statusCode();
+        if (isSuccess(status)) {
+            host.breaker.onSuccess();
+            return response.body();
+        }
+
+        host.failures.incrementAndGet();
+        // Only throttling and server errors say anything about upstream health
+        if (status == 429 || status >= 500) {
+            host.breaker.onFailure();
+        } else {
+            host.breaker.onSuccess();
+        }
+        log.warn("{} returned status {}", host.name, status);
+        throw new LlmCallException(host.name + " returned status " + status, status);
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * Pushes response lines to the consumer as the body arrives.
+     */
+    private static class LineSubscriber implements Flow.Subscriber<String> {
+        private final Consumer<String> onLine;
+
+        private LineSubscriber(Consumer<String> onLine) {
+            this.onLine = onLine;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            onLine.accept(line);
+        }
+
+        // Completion and errors are surfaced through the response future
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private class HostState {
+        private final String name;
+        private final Semaphore permits = new Semaphore(maxConcurrentPerHost);
+        private final CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openMs);
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private HostState(String name) {
+            this.name = name;
+        }
+
+        private boolean acquirePermit(boolean wait) {
+            if (!wait) {
+                return permits.tryAcquire();
+            }
+            try {
+                return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private OutboundHostStatsDto toDto() {
+            return OutboundHostStatsDto.builder()
+                    .host(name)
+                    .circuitState(breaker.state().name())
+                    .inFlight(maxConcurrentPerHost - permits.availablePermits())
+                    .calls(calls.get())
+                    .failures(failures.get())
+                    .rejected(rejected.get())
+                    .latencyMeanMs(latency.meanMs())
+                    .latencyP50Ms(latency.percentileMs(50))
+                    .latencyP95Ms(latency.percentileMs(95))
+                    .latencyMaxMs(latency.maxMs())
+                    .build();
+        }
+    }
+}
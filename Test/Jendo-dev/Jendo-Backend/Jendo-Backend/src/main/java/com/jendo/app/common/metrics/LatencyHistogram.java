@@ -0,0 +1,81 @@
+package com.jendo.app.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets. Percentiles are
+ * reported as the upper bound of the bucket they fall in, which is precise
+ * enough for operational logging and admin endpoints.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500,
+            1_000, 2_000, 5_000, 10_000, 20_000, 30_000, 60_000, Long.MAX_VALUE
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMs = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        int index = 0;
+        while (value > BOUNDS_MS[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        totalMs.addAndGet(value);
+        maxMs.accumulateAndGet(value, Math::max);
+    }
+
+    public void recordSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long maxMs() {
+        return maxMs.get();
+    }
+
+    public double meanMs() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) totalMs.get() / n;
+    }
+
+    public long percentileMs(double percentile) {
+        return percentileMs(percentile, this);
+    }
+
+    /**
+     * The percentile over the samples of all the given histograms together.
+     */
+    public static long percentileMs(double percentile, LatencyHistogram... histograms) {
+        long n = 0;
+        long max = 0;
+        for (LatencyHistogram histogram : histograms) {
+            n += histogram.count.get();
+            max = Math.max(max, histogram.maxMs.get());
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * n);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            for (LatencyHistogram histogram : histograms) {
+                seen += histogram.buckets.get(i);
+            }
+            if (seen >= rank) {
+                return Math.min(BOUNDS_MS[i], max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,56 @@
+package com.jendo.app.common.metrics;
+
+import java.time.Duration;
+
+/**
+ * Latency over the last one to two windows. Samples go into the current
+ * window, which becomes the previous one once it is a window old; reads
+ * cover both, so a fresh window never starts out empty and anything older
+ * than two windows no longer counts.
+ */
+public class WindowedLatencyHistogram {
+
+    private final long windowNanos;
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous = new LatencyHistogram();
+    private volatile long currentStartedAt = System.nanoTime();
+
+    public WindowedLatencyHistogram(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void record(long millis) {
+        rotateIfDue();
+        current.record(millis);
+    }
+
+    public void recordSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    public long count() {
+        rotateIfDue();
+        return previous.count() + current.count();
+    }
+
+    public long percentileMs(double percentile) {
+        rotateIfDue();
+        return LatencyHistogram.percentileMs(percentile, previous, current);
+    }
+
+    private void rotateIfDue() {
+        if (System.nanoTime() - currentStartedAt < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = System.nanoTime() - currentStartedAt;
+            if (elapsed < windowNanos) {
+                return;
+            }
+            // After a quiet spell longer than a window the current samples are stale too
+            previous = elapsed < 2 * windowNanos ? current : new LatencyHistogram();
+            current = new LatencyHistogram();
+            currentStartedAt = System.nanoTime();
+        }
+    }
+}
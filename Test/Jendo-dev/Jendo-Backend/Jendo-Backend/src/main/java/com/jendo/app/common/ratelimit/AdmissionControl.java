@@ -0,0 +1,121 @@
+package com.jendo.app.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jendo.app.common.dto.AdmissionStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission decisions for the AI endpoints. Every client (user or IP) has
+ * its own token bucket, and a global limit caps how many admitted requests
+ * run at once. A request that finds the limit full waits in a short, bounded
+ * queue; when the queue is full or the wait runs out it is either degraded
+ * (served from caches and static content without a permit) or rejected.
+ */
+@Component
+public class AdmissionControl {
+
+    public enum Decision { ADMITTED, DEGRADED, RATE_LIMITED, OVERLOADED }
+
+    private final double clientRatePerSecond;
+    private final double clientBurst;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutMs;
+    private final Semaphore permits;
+    private final Cache<String, TokenBucket> buckets;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong degraded = new AtomicLong();
+    private final AtomicLong rejectedRateLimited = new AtomicLong();
+    private final AtomicLong rejectedOverloaded = new AtomicLong();
+
+    public AdmissionControl(@Value("${ai.admission.client-rate-per-second:1}") double clientRatePerSecond,
+                            @Value("${ai.admission.client-burst:10}") double clientBurst,
+                            @Value("${ai.admission.max-clients:50000}") long maxClients,
+                            @Value("${ai.admission.max-concurrent:32}") int maxConcurrent,
+                            @Value("${ai.admission.max-queue:64}") int maxQueue,
+                            @Value("${ai.admission.queue-timeout-ms:200}") long queueTimeoutMs) {
+        this.clientRatePerSecond = clientRatePerSecond;
+        this.clientBurst = clientBurst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(maxConcurrent);
+        // An idle bucket refills completely, so dropping it loses nothing
+        long idleSeconds = (long) Math.ceil(clientBurst / clientRatePerSecond) + 1;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+    }
+
+    /**
+     * Decides whether a request from {@code clientKey} may run. Only an
+     * {@link Decision#ADMITTED} request holds a permit and must be followed
+     * by {@link #release()}. {@code degradable} requests get
+     * {@link Decision#DEGRADED} instead of {@link Decision#OVERLOADED}.
+     */
+    public Decision admit(String clientKey, boolean degradable) throws InterruptedException {
+        if (!buckets.get(clientKey, key -> new TokenBucket(clientRatePerSecond, clientBurst)).tryAcquire()) {
+            rejectedRateLimited.incrementAndGet();
+            return Decision.RATE_LIMITED;
+        }
+
+        if (permits.tryAcquire() || waitForPermit()) {
+            admitted.incrementAndGet();
+            return Decision.ADMITTED;
+        }
+        if (degradable) {
+            degraded.incrementAndGet();
+            return Decision.DEGRADED;
+        }
+        rejectedOverloaded.incrementAndGet();
+        return Decision.OVERLOADED;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Seconds until a rate-limited client has a fresh permit, for
+     * {@code Retry-After}.
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(1 / clientRatePerSecond));
+    }
+
+    public AdmissionStatsDto stats() {
+        return AdmissionStatsDto.builder()
+                .inFlight(maxConcurrent - permits.availablePermits())
+                .maxConcurrent(maxConcurrent)
+                .queueDepth(queueDepth.get())
+                .maxQueue(maxQueue)
+                .admitted(admitted.get())
+                .degraded(degraded.get())
+                .rejectedRateLimited(rejectedRateLimited.get())
+                .rejectedOverloaded(rejectedOverloaded.get())
+                .trackedClients(buckets.estimatedSize())
+                .build();
+    }
+
+    private boolean waitForPermit() throws InterruptedException {
+        if (queueDepth.incrementAndGet() > maxQueue) {
+            queueDepth.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.jendo.app.common.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.common.dto.ApiResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the endpoints that make outbound LLM calls
+ * (chatbot replies and daily AI tips); the rest of the chatbot and wellness
+ * APIs, including the admin stats, are not limited. Runs after Spring
+ * Security so signed-in users are limited by account and everyone else by
+ * IP. Rejected requests get an immediate 429; the chatbot message and
+ * daily-tip endpoints are degraded instead of rejected when the global
+ * limit is full, and answer from caches and static content.
+ * Registered by {@link com.jendo.app.config.AdmissionFilterConfig} rather
+ * than component scanning, so MVC test slices do not pick it up.
+ */
+@Slf4j
+public class AiAdmissionFilter extends OncePerRequestFilter {
+
+    public static final String DEGRADED_ATTRIBUTE = "com.jendo.app.admission.degraded";
+
+    private static final List<String> GUARDED = List.of(
+            "/api/chatbot/message", "/api/chatbot/stream", "/api/chatbot/test",
+            "/api/wellness-recommendations/user/*/daily-ai-tips");
+    private static final List<String> DEGRADABLE = List.of(
+            "/api/chatbot/message", "/api/wellness-recommendations/user/*/daily-ai-tips");
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public AiAdmissionFilter(AdmissionControl admissionControl,
+                             ObjectMapper objectMapper,
+                             boolean enabled) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return GUARDED.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        boolean degradable = DEGRADABLE.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+
+        AdmissionControl.Decision decision;
+        try {
+            decision = admissionControl.admit(clientKey(request), degradable);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            reject(request, response, 1, "Server is busy, please try again shortly");
+            return;
+        }
+
+        switch (decision) {
+            case RATE_LIMITED -> {
+                log.debug("Rate limited {} {}", request.getMethod(), path);
+                reject(request, response, admissionControl.retryAfterSeconds(), "Too many requests, please slow down");
+            }
+            case OVERLOADED -> {
+                log.debug("Rejected {} {} - AI endpoints at capacity", request.getMethod(), path);
+                reject(request, response, 1, "Server is busy, please try again shortly");
+            }
+            case DEGRADED -> {
+                request.setAttribute(DEGRADED_ATTRIBUTE, Boolean.TRUE);
+                response.setHeader("X-Admission", "degraded");
+                filterChain.doFilter(request, response);
+            }
+            case ADMITTED -> runAdmitted(request, response, filterChain);
+        }
+    }
+
+    private void runAdmitted(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                admissionControl.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streams keep their permit until the response is finished
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds, String message)
+            throws IOException {
+        ApiResponse<Void> body = ApiResponse.error(message);
+        body.setPath(path(request));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * The signed-in account, or the caller's IP for anonymous requests. Behind
+     * a trusted proxy the IP is the one it forwarded, see
+     * {@code server.forward-headers-strategy}.
+     */
+    public static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jendo.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.common.ratelimit.AdmissionControl;
+import com.jendo.app.common.ratelimit.AiAdmissionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class AdmissionFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<AiAdmissionFilter> aiAdmissionFilter(AdmissionControl admissionControl,
+                                                                       ObjectMapper objectMapper,
+                                                                       @Value("${ai.admission.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<AiAdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AiAdmissionFilter(admissionControl, objectMapper, enabled));
+        // After the Spring Security chain, so the authenticated user is known
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -4,18 +4,25 @@ import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
 
+import com.jendo.app.common.bulkhead.Bulkheads;
 import com.jendo.app.common.dto.ApiResponse;
 import com.jendo.app.domain.user.dto.*;
 import com.jendo.app.domain.user.entity.OtpToken;
@@ -53,8 +60,16 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final Bulkheads bulkheads;
+    private final TransactionTemplate transactionTemplate;
+    // Spring MVC's async executor, which runs the transactional part of Google sign-in
+    private final AsyncTaskExecutor applicationTaskExecutor;
     
     private static final SecureRandom secureRandom = new SecureRandom();
+    private static final int GOOGLE_CONNECT_TIMEOUT_MS = 3000;
+    private static final int GOOGLE_READ_TIMEOUT_MS = 5000;
+    
+    private final RestTemplate googleRestTemplate = createGoogleRestTemplate();
     
     @Value("${google.client-id:}")
     private String googleClientId;
@@ -290,84 +305,95 @@ public class AuthController {
     }
 
     @PostMapping("/google")
-    @Transactional
     @Operation(summary = "Google OAuth login", description = "Authenticates user with Google OAuth")
-    public ResponseEntity<ApiResponse<AuthResponseDto>> googleAuth(@Valid @RequestBody GoogleAuthDto req) {
-        try {
-            Map<String, Object> googleUserInfo = verifyGoogleToken(req.getIdToken());
-            
-            if (googleUserInfo == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ApiResponse.error("Invalid Google token"));
-            }
-            
-            String email = (String) googleUserInfo.get("email");
-            String googleId = (String) googleUserInfo.get("sub");
-            String firstName = (String) googleUserInfo.getOrDefault("given_name", "");
-            String lastName = (String) googleUserInfo.getOrDefault("family_name", "");
-            String picture = (String) googleUserInfo.getOrDefault("picture", "");
-            
-            Object emailVerifiedObj = googleUserInfo.getOrDefault("email_verified", false);
-            boolean emailVerified = false;
-            if (emailVerifiedObj instanceof Boolean) {
-                emailVerified = (Boolean) emailVerifiedObj;
-            } else if (emailVerifiedObj instanceof String) {
-                emailVerified = "true".equalsIgnoreCase((String) emailVerifiedObj);
-            }
-            if (!emailVerified) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ApiResponse.error("Google email not verified"));
-            }
-            
-            User user = userRepository.findByEmail(email)
-                .orElseGet(() -> userRepository.findByGoogleId(googleId)
-                    .orElse(null));
-            
-            if (user == null) {
-                user = User.builder()
-                    .email(email)
-                    .firstName(firstName)
-                    .lastName(lastName)
-                    .googleId(googleId)
-                    .authProvider("google")
-                    .profileImage(picture)
-                    .emailVerified(true)
-                    .password(passwordEncoder.encode(java.util.UUID.randomUUID().toString()))
-                    .build();
-                user = userRepository.save(user);
-                log.info("New Google user created: {}", email);
-            } else {
-                if (user.getGoogleId() == null) {
-                    user.setGoogleId(googleId);
-                    user.setAuthProvider("google");
-                    user.setEmailVerified(true);
-                    userRepository.save(user);
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponseDto>>> googleAuth(@Valid @RequestBody GoogleAuthDto req) {
+        // Only the tokeninfo call runs on the google-auth bulkhead, before the transaction opens,
+        // so a slow Google response holds neither a request thread nor a database connection.
+        // Verification failures come back as null and are answered with 401 inside completeGoogleAuth.
+        return bulkheads.googleAuth().supply(() -> verifyGoogleToken(req.getIdToken()))
+            .thenApplyAsync(googleUserInfo -> transactionTemplate.execute(status -> completeGoogleAuth(googleUserInfo)),
+                applicationTaskExecutor)
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    log.warn("Google authentication rejected - verification bulkhead full");
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header("Retry-After", "1")
+                        .body(ApiResponse.error("Google sign-in is busy, please try again shortly"));
                 }
-            }
-            
-            String token = jwtUtil.generateToken(email, user.getId());
-            String refreshToken = jwtUtil.generateRefreshToken(email, user.getId());
-            UserResponseDto userDto = userMapper.toResponseDto(user);
-            boolean profileComplete = isProfileComplete(user);
-            
-            AuthResponseDto response = AuthResponseDto.builder()
-                .token(token)
-                .refreshToken(refreshToken)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .fullName(user.getFirstName() + " " + user.getLastName())
-                .user(userDto)
-                .profileComplete(profileComplete)
-                .build();
-            
-            log.info("Google authentication successful for: {}", email);
-            return ResponseEntity.ok(ApiResponse.success(response, "Google login successful"));
-            
-        } catch (Exception e) {
-            log.error("Google authentication failed", e);
+                log.error("Google authentication failed", cause);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Google authentication failed, please try again"));
+            });
+    }
+
+    private ResponseEntity<ApiResponse<AuthResponseDto>> completeGoogleAuth(Map<String, Object> googleUserInfo) {
+        if (googleUserInfo == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Invalid Google token"));
+        }
+        
+        String email = (String) googleUserInfo.get("email");
+        String googleId = (String) googleUserInfo.get("sub");
+        String firstName = (String) googleUserInfo.getOrDefault("given_name", "");
+        String lastName = (String) googleUserInfo.getOrDefault("family_name", "");
+        String picture = (String) googleUserInfo.getOrDefault("picture", "");
+        
+        Object emailVerifiedObj = googleUserInfo.getOrDefault("email_verified", false);
+        boolean emailVerified = false;
+        if (emailVerifiedObj instanceof Boolean) {
+            emailVerified = (Boolean) emailVerifiedObj;
+        } else if (emailVerifiedObj instanceof String) {
+            emailVerified = "true".equalsIgnoreCase((String) emailVerifiedObj);
+        }
+        if (!emailVerified) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Google authentication failed: " + e.getMessage()));
+                .body(ApiResponse.error("Google email not verified"));
+        }
+        
+        User user = userRepository.findByEmail(email)
+            .orElseGet(() -> userRepository.findByGoogleId(googleId)
+                .orElse(null));
+        
+        if (user == null) {
+            user = User.builder()
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .googleId(googleId)
+                .authProvider("google")
+                .profileImage(picture)
+                .emailVerified(true)
+                .password(passwordEncoder.encode(java.util.UUID.randomUUID().toString()))
+                .build();
+            user = userRepository.save(user);
+            log.info("New Google user created: {}", email);
+        } else {
+            if (user.getGoogleId() == null) {
+                user.setGoogleId(googleId);
+                user.setAuthProvider("google");
+                user.setEmailVerified(true);
+                userRepository.save(user);
+            }
         }
+        
+        String token = jwtUtil.generateToken(email, user.getId());
+        String refreshToken = jwtUtil.generateRefreshToken(email, user.getId());
+        UserResponseDto userDto = userMapper.toResponseDto(user);
+        boolean profileComplete = isProfileComplete(user);
+        
+        AuthResponseDto response = AuthResponseDto.builder()
+            .token(token)
+            .refreshToken(refreshToken)
+            .userId(user.getId())
+            .email(user.getEmail())
+            .fullName(user.getFirstName() + " " + user.getLastName())
+            .user(userDto)
+            .profileComplete(profileComplete)
+            .build();
+        
+        log.info("Google authentication successful for: {}", email);
+        return ResponseEntity.ok(ApiResponse.success(response, "Google login successful"));
     }
 
     @PostMapping("/refresh")
@@ -469,13 +495,19 @@ public class AuthController {
             && user.getGender() != null && !user.getGender().isEmpty();
     }
 
+    private static RestTemplate createGoogleRestTemplate() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(GOOGLE_CONNECT_TIMEOUT_MS);
+        requestFactory.setReadTimeout(GOOGLE_READ_TIMEOUT_MS);
+        return new RestTemplate(requestFactory);
+    }
+
     @SuppressWarnings("unchecked")
     private Map<String, Object> verifyGoogleToken(String idToken) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String tokenInfoUrl = "https://oauth2.googleapis.com/tokeninfo?id_token=" + idToken;
             
-            Map<String, Object> tokenInfo = restTemplate.getForObject(tokenInfoUrl, Map.class);
+            Map<String, Object> tokenInfo = googleRestTemplate.getForObject(tokenInfoUrl, Map.class);
             
             if (tokenInfo == null) {
                 log.error("Failed to verify Google token - null response");
@@ -41,6 +41,8 @@ public class NotificationController {
             tokenRepo.findByFcmToken(body.fcmToken()).ifPresentOrElse(
                     existing -> {
                         existing.setIsActive(true);
+                        existing.setFailureCount(0);
+                        existing.setDeactivatedAt(null);
                         existing.setUser(user);
                         tokenRepo.save(existing);
                     },
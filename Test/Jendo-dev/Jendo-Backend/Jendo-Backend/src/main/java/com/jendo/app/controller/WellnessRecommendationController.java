@@ -1,7 +1,10 @@
 package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
+import com.jendo.app.common.dto.CacheStatsDto;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.ratelimit.AiAdmissionFilter;
+import com.jendo.app.domain.wellnessrecommendation.dto.DailyTipGenerationSummary;
 import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
 import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationRequestDto;
 import com.jendo.app.domain.wellnessrecommendation.service.WellnessRecommendationService;
@@ -14,9 +17,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/wellness-recommendations")
@@ -73,26 +76,30 @@ public class WellnessRecommendationController {
     @GetMapping("/user/{userId}/daily-ai-tips")
     @Operation(summary = "Get daily AI tips for user",
             description = "Returns 3 personalized tips per category (diet, exercise, sleep, stress) valid from 6 AM to next-day 5:59:59 AM")
-    public ResponseEntity<ApiResponse<Map<String, List<WellnessRecommendationDto>>>> getDailyAiTips(
-            @PathVariable Long userId) {
-        Map<String, List<WellnessRecommendationDto>> tips = service.getDailyAiTips(userId);
-        return ResponseEntity.ok(ApiResponse.success(tips, "Daily AI tips retrieved"));
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, List<WellnessRecommendationDto>>>>> getDailyAiTips(
+            @PathVariable Long userId,
+            @RequestAttribute(name = AiAdmissionFilter.DEGRADED_ATTRIBUTE, required = false) Boolean degraded) {
+        CompletableFuture<Map<String, List<WellnessRecommendationDto>>> tips = Boolean.TRUE.equals(degraded)
+                ? CompletableFuture.completedFuture(service.getStoredDailyAiTips(userId))
+                // Stored tips are served on this thread; only on-demand generation goes to the wellness bulkhead
+                : service.getDailyAiTips(userId);
+        return tips.thenApply(result -> ResponseEntity.ok(ApiResponse.success(result, "Daily AI tips retrieved")));
     }
 
     @PostMapping("/admin/generate-all-daily-tips")
     @Operation(summary = "Manually trigger daily tips generation for all users", 
                description = "Generates AI tips for all users for the current 6 AM window (testing/admin only)")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> generateAllDailyTips() {
+    public ResponseEntity<ApiResponse<DailyTipGenerationSummary>> generateAllDailyTips() {
         log.info("POST /api/wellness-recommendations/admin/generate-all-daily-tips - Manual trigger");
-        service.generateDailyTipsForAllUsers();
-        
-        Map<String, Object> data = Map.of(
-            "success", true,
-            "message", "Daily tips generation triggered for all users",
-            "timestamp", LocalDateTime.now()
-        );
-        
-        return ResponseEntity.ok(ApiResponse.success(data, "Daily tips generation completed"));
+        DailyTipGenerationSummary summary = service.generateDailyTipsForAllUsers();
+        return ResponseEntity.ok(ApiResponse.success(summary, "Daily tips generation completed"));
+    }
+
+    @GetMapping("/admin/cache-stats")
+    @Operation(summary = "Get wellness cache statistics",
+               description = "Returns hit/miss counters and sizes of the in-memory wellness caches (admin only)")
+    public ResponseEntity<ApiResponse<List<CacheStatsDto>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(service.getCacheStats()));
     }
 
     @PutMapping("/{id}")
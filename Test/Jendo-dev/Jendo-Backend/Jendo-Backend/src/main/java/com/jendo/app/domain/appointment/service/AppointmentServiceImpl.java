@@ -10,12 +10,14 @@ import com.jendo.app.domain.appointment.repository.AppointmentRepository;
 import com.jendo.app.domain.doctor.entity.Doctor;
 import com.jendo.app.domain.doctor.repository.DoctorRepository;
 import com.jendo.app.domain.notification.entity.ScheduledNotification;
+import com.jendo.app.domain.notification.event.ScheduledNotificationsChangedEvent;
 import com.jendo.app.domain.notification.repository.ScheduledNotificationRepository;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -42,6 +44,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final DoctorRepository doctorRepository;
     private final AppointmentMapper appointmentMapper;
     private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public AppointmentResponseDto createAppointment(AppointmentRequestDto request) {
@@ -61,6 +64,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         // Automatically create 1-hour reminder notification
         createAppointmentReminder(appointment);
+        eventPublisher.publishEvent(new ScheduledNotificationsChangedEvent(appointment.getId()));
 
         logger.info("Appointment created successfully with ID: {}", appointment.getId());
         return appointmentMapper.toResponseDto(appointment);
@@ -230,6 +234,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         if (dateTimeChanged) {
             scheduledNotificationRepository.deleteByAppointment_Id(id);
             createAppointmentReminder(appointment);
+            eventPublisher.publishEvent(new ScheduledNotificationsChangedEvent(id));
             logger.info("Updated appointment reminder for appointment ID: {}", id);
         }
 
@@ -250,6 +255,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         // If appointment is cancelled or completed, delete reminder
         if ("CANCELLED".equalsIgnoreCase(status) || "COMPLETED".equalsIgnoreCase(status)) {
             scheduledNotificationRepository.deleteByAppointment_Id(id);
+            eventPublisher.publishEvent(new ScheduledNotificationsChangedEvent(id));
             logger.info("Deleted appointment reminder for {} appointment ID: {}", status, id);
         }
 
@@ -267,6 +273,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         // Delete associated reminder notifications first
         scheduledNotificationRepository.deleteByAppointment_Id(id);
+        eventPublisher.publishEvent(new ScheduledNotificationsChangedEvent(id));
         logger.info("Deleted reminder notifications for appointment ID: {}", id);
 
         appointmentRepository.deleteById(id);
@@ -0,0 +1,106 @@
+package com.jendo.app.domain.chatbot.cache;
+
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jendo.app.common.dto.CacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Answers to previously asked chatbot questions, keyed by the normalized
+ * question, in front of the Hugging Face tier. Generated answers expire
+ * after the configured TTL; answers pre-loaded from the seed file do not
+ * expire. The cache is bounded by entry count.
+ */
+@Component
+@Slf4j
+public class ChatResponseCache {
+
+    private final Cache<String, Entry> cache;
+
+    public ChatResponseCache(ResourceLoader resourceLoader,
+                             @Value("${chatbot.response-cache.max-entries:1000}") long maxEntries,
+                             @Value("${chatbot.response-cache.ttl-minutes:720}") long ttlMinutes,
+                             @Value("${chatbot.response-cache.seed-location:classpath:chatbot/response-seed.yml}") String seedLocation) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new SeedAwareExpiry(Duration.ofMinutes(ttlMinutes)))
+                .recordStats()
+                .build();
+        seed(resourceLoader.getResource(seedLocation));
+    }
+
+    public String get(String question) {
+        Entry entry = cache.getIfPresent(QuestionNormalizer.normalize(question));
+        return entry != null ? entry.answer() : null;
+    }
+
+    public void put(String question, String answer) {
+        String key = QuestionNormalizer.normalize(question);
+        if (!key.isEmpty()) {
+            cache.put(key, new Entry(answer, false));
+        }
+    }
+
+    public CacheStatsDto stats() {
+        return CacheStatsDto.of("chatbot-responses", cache);
+    }
+
+    private void seed(Resource resource) {
+        if (!resource.exists()) {
+            log.info("No chatbot response seed file at {}", resource.getDescription());
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            SeedFile seedFile = new YAMLMapper().readValue(in, SeedFile.class);
+            for (SeedEntry entry : seedFile.entries()) {
+                for (String question : entry.questions()) {
+                    cache.put(QuestionNormalizer.normalize(question), new Entry(entry.answer(), true));
+                }
+            }
+            log.info("Pre-warmed chatbot response cache with {} questions", cache.estimatedSize());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load chatbot response seed from " + resource.getDescription(), ex);
+        }
+    }
+
+    private record Entry(String answer, boolean seeded) { }
+
+    private record SeedFile(List<SeedEntry> entries) { }
+
+    private record SeedEntry(List<String> questions, String answer) { }
+
+    private static class SeedAwareExpiry implements Expiry<String, Entry> {
+
+        private final long ttlNanos;
+
+        private SeedAwareExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.seeded() ? Long.MAX_VALUE : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
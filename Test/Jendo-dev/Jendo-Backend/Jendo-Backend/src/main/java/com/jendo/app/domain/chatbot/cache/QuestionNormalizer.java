@@ -0,0 +1,54 @@
+package com.jendo.app.domain.chatbot.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reduces a chat question to a cache key: lower-cased, punctuation removed,
+ * whitespace collapsed and stopwords dropped, so "How much does it cost?"
+ * and "how much does it   COST" share an entry. A question made only of
+ * stopwords keeps them rather than collapsing to an empty key.
+ */
+public final class QuestionNormalizer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "the", "and", "or", "but", "is", "are", "was", "were", "be", "been", "am",
+            "do", "does", "did", "can", "could", "would", "will", "shall", "should", "may", "might",
+            "i", "me", "my", "we", "our", "you", "your", "it", "its", "this", "that", "these", "those",
+            "to", "of", "in", "on", "at", "for", "with", "about", "from", "by", "as", "into",
+            "please", "tell", "know", "want", "like", "just", "so", "there", "some", "any");
+
+    private QuestionNormalizer() {
+    }
+
+    public static boolean isStopword(String word) {
+        return STOPWORDS.contains(word);
+    }
+
+    public static String normalize(String question) {
+        if (question == null) {
+            return "";
+        }
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < question.length(); i++) {
+            char c = question.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (c != '\'' && token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+
+        List<String> meaningful = tokens.stream()
+                .filter(word -> !STOPWORDS.contains(word))
+                .toList();
+        return String.join(" ", meaningful.isEmpty() ? tokens : meaningful);
+    }
+}
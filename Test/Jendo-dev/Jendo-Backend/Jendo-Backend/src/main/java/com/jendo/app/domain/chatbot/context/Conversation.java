@@ -0,0 +1,186 @@
+package com.jendo.app.domain.chatbot.context;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One chatbot session: a rolling window of recent turns plus the topics of
+ * turns that were folded out of the window. Sizes are estimated in tokens
+ * (about four characters each), which is all the prompt budget needs.
+ */
+final class Conversation {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int TOPIC_MAX_CHARS = 80;
+    private static final long TURN_OVERHEAD_BYTES = 64;
+    private static final long CONVERSATION_OVERHEAD_BYTES = 128;
+
+    private final Deque<Turn> turns = new ArrayDeque<>();
+    private final Deque<String> topics = new ArrayDeque<>();
+    private boolean compactionPending;
+
+    Conversation() {
+    }
+
+    Conversation(Snapshot snapshot) {
+        topics.addAll(snapshot.topics());
+        turns.addAll(snapshot.turns());
+    }
+
+    synchronized void append(Turn turn, int hardMaxTurns, int summaryTokens) {
+        turns.addLast(turn);
+        // Hard cap in case the summarizer falls behind
+        if (turns.size() > hardMaxTurns) {
+            while (turns.size() > hardMaxTurns) {
+                fold(turns.removeFirst());
+            }
+            trimTopics(summaryTokens);
+        }
+    }
+
+    synchronized boolean needsCompaction(int windowTurns, int turnTokens) {
+        return turns.size() > windowTurns || tokens(turns) > turnTokens;
+    }
+
+    /**
+     * Returns true for the caller that should schedule compaction, so at
+     * most one is queued per conversation.
+     */
+    synchronized boolean markCompactionPending() {
+        if (compactionPending) {
+            return false;
+        }
+        compactionPending = true;
+        return true;
+    }
+
+    synchronized void clearCompactionPending() {
+        compactionPending = false;
+    }
+
+    /**
+     * Folds the oldest turns out of the window until it fits, remembering
+     * the user's questions as short topics. The newest turn is always kept.
+     */
+    synchronized void compact(int windowTurns, int turnTokens, int summaryTokens) {
+        compactionPending = false;
+        while (turns.size() > 1 && (turns.size() > windowTurns || tokens(turns) > turnTokens)) {
+            fold(turns.removeFirst());
+        }
+        trimTopics(summaryTokens);
+    }
+
+    /**
+     * Summary and as many of the newest turns as fit in {@code tokenBudget},
+     * oldest first, or an empty string for a new conversation.
+     */
+    synchronized String render(int tokenBudget) {
+        int remaining = tokenBudget * CHARS_PER_TOKEN;
+        String summary = topics.isEmpty() ? "" : "Earlier the user asked about: " + String.join("; ", topics) + "\n";
+        if (summary.length() <= remaining) {
+            remaining -= summary.length();
+        } else {
+            summary = "";
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (Iterator<Turn> it = turns.descendingIterator(); it.hasNext(); ) {
+            String line = it.next().line();
+            if (line.length() > remaining) {
+                break;
+            }
+            remaining -= line.length();
+            lines.add(0, line);
+        }
+        return summary + String.join("", lines);
+    }
+
+    synchronized boolean isEmpty() {
+        return turns.isEmpty() && topics.isEmpty();
+    }
+
+    synchronized long estimatedBytes() {
+        long bytes = CONVERSATION_OVERHEAD_BYTES;
+        for (Turn turn : turns) {
+            bytes += TURN_OVERHEAD_BYTES + 2L * turn.content().length();
+        }
+        for (String topic : topics) {
+            bytes += TURN_OVERHEAD_BYTES + 2L * topic.length();
+        }
+        return bytes;
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(List.copyOf(topics), List.copyOf(turns));
+    }
+
+    private static int tokens(String text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private static int tokens(Deque<Turn> turns) {
+        int tokens = 0;
+        for (Turn turn : turns) {
+            tokens += tokens(turn.line());
+        }
+        return tokens;
+    }
+
+    private void fold(Turn turn) {
+        if (turn.isUser()) {
+            topics.addLast(topicOf(turn.content()));
+        }
+    }
+
+    private void trimTopics(int summaryTokens) {
+        while (!topics.isEmpty() && summaryLength() > summaryTokens * CHARS_PER_TOKEN) {
+            topics.removeFirst();
+        }
+    }
+
+    private int summaryLength() {
+        int length = 0;
+        for (String topic : topics) {
+            length += topic.length() + 2;
+        }
+        return length;
+    }
+
+    private static String topicOf(String question) {
+        String topic = question.strip();
+        int sentenceEnd = indexOfSentenceEnd(topic);
+        if (sentenceEnd > 0) {
+            topic = topic.substring(0, sentenceEnd);
+        }
+        return topic.length() > TOPIC_MAX_CHARS ? topic.substring(0, TOPIC_MAX_CHARS) + "…" : topic;
+    }
+
+    private static int indexOfSentenceEnd(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '?' || c == '.' || c == '!' || c == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    record Turn(String role, String content) {
+
+        static final String USER = "user";
+        static final String ASSISTANT = "assistant";
+
+        boolean isUser() {
+            return USER.equals(role);
+        }
+
+        String line() {
+            return (isUser() ? "User: " : "Assistant: ") + content + "\n";
+        }
+    }
+
+    record Snapshot(List<String> topics, List<Turn> turns) { }
+}
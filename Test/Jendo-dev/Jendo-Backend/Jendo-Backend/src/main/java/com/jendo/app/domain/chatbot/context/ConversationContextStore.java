@@ -0,0 +1,248 @@
+package com.jendo.app.domain.chatbot.context;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.jendo.app.common.dto.CacheStatsDto;
+import com.jendo.app.domain.chatbot.dto.ChatRequest;
+import com.jendo.app.domain.chatbot.entity.ChatConversation;
+import com.jendo.app.domain.chatbot.repository.ChatConversationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-session chatbot context with bounded memory. Each session keeps a
+ * rolling window of recent turns; older turns are folded into a short topic
+ * summary on a background thread, never on the request path. The prompt
+ * context is always cut to the token budget, even if compaction is behind.
+ * Sessions are evicted by least recent use once the memory cap is reached,
+ * and idle sessions expire. When spill is enabled, sessions evicted for
+ * memory are written to Postgres and picked up again on their next message.
+ * Sessions are keyed by their owner (account or client IP) together with
+ * the client's session id, hashed, so an id only reaches the owner's own
+ * conversation and never someone else's.
+ */
+@Component
+@Slf4j
+public class ConversationContextStore {
+
+    private final ChatConversationRepository conversationRepository;
+    private final ObjectMapper objectMapper;
+    private final int windowTurns;
+    private final int hardMaxTurns;
+    private final int tokenBudget;
+    private final int summaryTokens;
+    private final int turnMaxChars;
+    private final boolean spillEnabled;
+    private final long spillRetentionHours;
+    private final Cache<String, Conversation> cache;
+    private final ThreadPoolExecutor summarizer;
+
+    public ConversationContextStore(ChatConversationRepository conversationRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${chatbot.context.max-sessions:10000}") long maxSessions,
+                                    @Value("${chatbot.context.max-memory-mb:32}") long maxMemoryMb,
+                                    @Value("${chatbot.context.idle-ttl-minutes:60}") long idleTtlMinutes,
+                                    @Value("${chatbot.context.window-turns:8}") int windowTurns,
+                                    @Value("${chatbot.context.token-budget:400}") int tokenBudget,
+                                    @Value("${chatbot.context.summary-tokens:100}") int summaryTokens,
+                                    @Value("${chatbot.context.turn-max-chars:600}") int turnMaxChars,
+                                    @Value("${chatbot.context.summarizer-queue-capacity:1000}") int summarizerQueueCapacity,
+                                    @Value("${chatbot.context.spill.enabled:false}") boolean spillEnabled,
+                                    @Value("${chatbot.context.spill.retention-hours:24}") long spillRetentionHours) {
+        this.conversationRepository = conversationRepository;
+        this.objectMapper = objectMapper;
+        this.windowTurns = windowTurns;
+        this.hardMaxTurns = windowTurns * 2;
+        this.tokenBudget = tokenBudget;
+        this.summaryTokens = summaryTokens;
+        this.turnMaxChars = turnMaxChars;
+        this.spillEnabled = spillEnabled;
+        this.spillRetentionHours = spillRetentionHours;
+
+        long maxBytes = maxMemoryMb * 1024 * 1024;
+        // Same single-bound trick as the tip cache: a minimum weight caps the session count too
+        long minEntryWeight = Math.max(1, maxBytes / Math.max(1, maxSessions));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String sessionId, Conversation conversation) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(minEntryWeight, conversation.estimatedBytes())))
+                .expireAfterAccess(Duration.ofMinutes(idleTtlMinutes))
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+
+        this.summarizer = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(summarizerQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chatbot-context-summarizer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.summarizer.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        summarizer.shutdownNow();
+    }
+
+    /**
+     * Prompt context for the session, at most the configured token budget.
+     * Without a known session the client-sent history is used, cut to the
+     * same budget.
+     */
+    public String context(String owner, String sessionId, List<ChatRequest.ChatHistoryItem> history) {
+        Conversation conversation = sessionId != null ? find(key(owner, sessionId)) : null;
+        if (conversation != null && !conversation.isEmpty()) {
+            return conversation.render(tokenBudget);
+        }
+        if (history == null || history.isEmpty()) {
+            return "";
+        }
+        Conversation fromHistory = new Conversation();
+        for (ChatRequest.ChatHistoryItem item : history) {
+            if (item.getContent() != null) {
+                fromHistory.append(turn(item.getRole(), item.getContent()), hardMaxTurns, summaryTokens);
+            }
+        }
+        return fromHistory.render(tokenBudget);
+    }
+
+    /**
+     * Appends a question and, when present, its answer to the session and
+     * schedules compaction once the window is over its limits.
+     */
+    public void record(String owner, String sessionId, String question, String answer) {
+        String key = key(owner, sessionId);
+        Conversation conversation = cache.get(key, this::loadOrCreate);
+        conversation.append(turn(Conversation.Turn.USER, question), hardMaxTurns, summaryTokens);
+        if (answer != null) {
+            conversation.append(turn(Conversation.Turn.ASSISTANT, answer), hardMaxTurns, summaryTokens);
+        }
+        // Re-inserting re-weighs the entry against the memory cap
+        cache.put(key, conversation);
+
+        if (conversation.needsCompaction(windowTurns, turnTokens()) && conversation.markCompactionPending()) {
+            try {
+                summarizer.execute(() -> {
+                    conversation.compact(windowTurns, turnTokens(), summaryTokens);
+                    cache.asMap().replace(key, conversation, conversation);
+                });
+            } catch (RejectedExecutionException ex) {
+                // The render still honours the budget; compaction is retried on the next turn
+                conversation.clearCompactionPending();
+                log.debug("Chatbot context summarizer busy, compaction for session {} deferred", sessionId);
+            }
+        }
+    }
+
+    public CacheStatsDto stats() {
+        return CacheStatsDto.of("chatbot-conversations", cache);
+    }
+
+    @Scheduled(cron = "0 30 * * * *")
+    public void purgeSpilled() {
+        if (!spillEnabled) {
+            return;
+        }
+        try {
+            int purged = conversationRepository.deleteUpdatedBefore(LocalDateTime.now().minusHours(spillRetentionHours));
+            log.debug("Purged {} spilled chatbot conversations", purged);
+        } catch (Exception ex) {
+            log.warn("Failed to purge spilled chatbot conversations", ex);
+        }
+    }
+
+    /**
+     * SHA-256 of owner and session id; fits the 64-character spill key and
+     * keeps client addresses out of the table.
+     */
+    static String key(String owner, String sessionId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String scoped = Objects.toString(owner, "") + "\n" + sessionId;
+            return HexFormat.of().formatHex(digest.digest(scoped.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private int turnTokens() {
+        return tokenBudget - summaryTokens;
+    }
+
+    private Conversation.Turn turn(String role, String content) {
+        String trimmed = content.strip();
+        if (trimmed.length() > turnMaxChars) {
+            trimmed = trimmed.substring(0, turnMaxChars) + "…";
+        }
+        return new Conversation.Turn(Conversation.Turn.USER.equals(role) ? role : Conversation.Turn.ASSISTANT, trimmed);
+    }
+
+    private Conversation find(String sessionId) {
+        Conversation conversation = cache.getIfPresent(sessionId);
+        if (conversation != null || !spillEnabled) {
+            return conversation;
+        }
+        Conversation spilled = load(sessionId);
+        return spilled != null ? cache.asMap().computeIfAbsent(sessionId, id -> spilled) : null;
+    }
+
+    private Conversation loadOrCreate(String sessionId) {
+        Conversation spilled = spillEnabled ? load(sessionId) : null;
+        return spilled != null ? spilled : new Conversation();
+    }
+
+    private Conversation load(String sessionId) {
+        try {
+            return conversationRepository.findById(sessionId)
+                    .map(row -> {
+                        try {
+                            return new Conversation(objectMapper.readValue(row.getPayload(), Conversation.Snapshot.class));
+                        } catch (JsonProcessingException ex) {
+                            log.warn("Discarding unreadable spilled chatbot conversation {}", sessionId, ex);
+                            return null;
+                        }
+                    })
+                    .orElse(null);
+        } catch (Exception ex) {
+            log.warn("Failed to load spilled chatbot conversation {}", sessionId, ex);
+            return null;
+        }
+    }
+
+    private void onRemoval(String sessionId, Conversation conversation, RemovalCause cause) {
+        // Only memory-pressure evictions are spilled; idle sessions are over
+        if (!spillEnabled || cause != RemovalCause.SIZE || sessionId == null || conversation == null || conversation.isEmpty()) {
+            return;
+        }
+        try {
+            conversationRepository.save(ChatConversation.builder()
+                    .sessionId(sessionId)
+                    .payload(objectMapper.writeValueAsString(conversation.snapshot()))
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception ex) {
+            log.warn("Failed to spill chatbot conversation {}", sessionId, ex);
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package com.jendo.app.domain.chatbot.controller;
 
+import com.jendo.app.common.bulkhead.Bulkheads;
+import com.jendo.app.common.dto.AdmissionStatsDto;
+import com.jendo.app.common.dto.BulkheadStatsDto;
+import com.jendo.app.common.dto.CacheStatsDto;
+import com.jendo.app.common.dto.HedgeStatsDto;
+import com.jendo.app.common.dto.OutboundHostStatsDto;
+import com.jendo.app.common.ratelimit.AiAdmissionFilter;
 import com.jendo.app.domain.chatbot.dto.ChatRequest;
 import com.jendo.app.domain.chatbot.dto.ChatResponse;
 import com.jendo.app.domain.chatbot.service.ChatbotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/chatbot")
 @RequiredArgsConstructor
@@ -17,12 +36,50 @@ import org.springframework.web.bind.annotation.*;
 public class ChatbotController {
     
     private final ChatbotService chatbotService;
+    private final Bulkheads bulkheads;
+    
+    @Value("${chatbot.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
     
     @PostMapping("/message")
     @Operation(summary = "Send a message to the Jendo Health Assistant - Free LLM with Smart Rules")
-    public ResponseEntity<ChatResponse> sendMessage(@Valid @RequestBody ChatRequest request) {
-        ChatResponse response = chatbotService.sendMessage(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<ChatResponse>> sendMessage(
+            @Valid @RequestBody ChatRequest request,
+            @RequestAttribute(name = AiAdmissionFilter.DEGRADED_ATTRIBUTE, required = false) Boolean degraded,
+            HttpServletRequest httpRequest) {
+        // Resolved here: the security context does not follow the call onto the bulkhead
+        request.setOwner(AiAdmissionFilter.clientKey(httpRequest));
+        if (Boolean.TRUE.equals(degraded)) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(chatbotService.sendDegradedMessage(request)));
+        }
+        // The model call runs on the chatbot bulkhead; a full bulkhead answers without the model
+        return bulkheads.chatbot().supply(() -> chatbotService.sendMessage(request))
+                .exceptionally(error -> {
+                    if (unwrap(error) instanceof RejectedExecutionException) {
+                        log.debug("Chatbot bulkhead full, answering without the model");
+                        return chatbotService.sendDegradedMessage(request);
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                })
+                .thenApply(ResponseEntity::ok);
+    }
+    
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream a reply as server-sent events - 'token' events while the model generates, then one 'message' event with the full reply")
+    public SseEmitter streamMessage(@Valid @RequestBody ChatRequest request, HttpServletRequest httpRequest) {
+        request.setOwner(AiAdmissionFilter.clientKey(httpRequest));
+        // The servlet thread is released on return; events are sent from the HTTP client's callbacks
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        CompletableFuture<ChatResponse> reply = chatbotService.streamMessage(request, token -> send(emitter, "token", token));
+        reply.whenComplete((response, error) -> {
+            if (error == null) {
+                send(emitter, "message", response);
+                emitter.complete();
+            }
+        });
+        emitter.onTimeout(() -> reply.cancel(true));
+        emitter.onError(error -> reply.cancel(true));
+        return emitter;
     }
     
     @PostMapping("/test")
@@ -33,4 +90,52 @@ public class ChatbotController {
         ChatResponse response = chatbotService.sendMessage(testRequest);
         return ResponseEntity.ok(response);
     }
+    
+    @GetMapping("/admin/llm-stats")
+    @Operation(summary = "Outbound LLM client stats - circuit state, in-flight calls and latency per upstream host")
+    public ResponseEntity<List<OutboundHostStatsDto>> getLlmClientStats() {
+        return ResponseEntity.ok(chatbotService.getLlmClientStats());
+    }
+    
+    @GetMapping("/admin/hedge-stats")
+    @Operation(summary = "Hedged model call stats - per-model latency, wins and current hedge delay")
+    public ResponseEntity<List<HedgeStatsDto>> getHedgeStats() {
+        return ResponseEntity.ok(chatbotService.getHedgeStats());
+    }
+    
+    @GetMapping("/admin/cache-stats")
+    @Operation(summary = "Chatbot response cache stats - size, hit rate and evictions")
+    public ResponseEntity<CacheStatsDto> getResponseCacheStats() {
+        return ResponseEntity.ok(chatbotService.getResponseCacheStats());
+    }
+    
+    @GetMapping("/admin/context-stats")
+    @Operation(summary = "Chatbot conversation context stats - live sessions, hit rate and memory evictions")
+    public ResponseEntity<CacheStatsDto> getConversationStats() {
+        return ResponseEntity.ok(chatbotService.getConversationStats());
+    }
+    
+    @GetMapping("/admin/admission-stats")
+    @Operation(summary = "AI endpoint admission stats - in-flight and queued requests, degraded and rejected counts")
+    public ResponseEntity<AdmissionStatsDto> getAdmissionStats() {
+        return ResponseEntity.ok(chatbotService.getAdmissionStats());
+    }
+    
+    @GetMapping("/admin/bulkhead-stats")
+    @Operation(summary = "Outbound call bulkhead stats - threads, queue depth, saturation and rejections per dependency")
+    public ResponseEntity<List<BulkheadStatsDto>> getBulkheadStats() {
+        return ResponseEntity.ok(chatbotService.getBulkheadStats());
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Chatbot stream closed before '{}' event could be sent: {}", event, e.getMessage());
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.jendo.app.domain.chatbot.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.util.List;
@@ -10,8 +12,22 @@ public class ChatRequest {
     @NotBlank(message = "Message is required")
     private String message;
     
+    /**
+     * Conversation to continue; a new one is started when absent and its id
+     * is returned in the response.
+     */
+    @Size(max = 64, message = "Session id must be at most 64 characters")
+    private String sessionId;
+    
     private List<ChatHistoryItem> history;
     
+    /**
+     * Who is calling, set by the controller and never read from the body.
+     * Sessions are scoped to it so a session id only works for its owner.
+     */
+    @JsonIgnore
+    private String owner;
+    
     @Data
     public static class ChatHistoryItem {
         private String role;
@@ -14,4 +14,5 @@ public class ChatResponse {
     private String role;
     private String content;
     private String timestamp;
+    private String sessionId;
 }
@@ -0,0 +1,61 @@
+package com.jendo.app.domain.chatbot.intent;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Loads the rule-based chatbot intents from {@code chatbot.intents.location}
+ * and compiles them into an {@link IntentMatcher} once at startup.
+ */
+@Component
+@Slf4j
+public class ChatbotIntents {
+
+    private final IntentMatcher matcher;
+
+    public ChatbotIntents(ResourceLoader resourceLoader,
+                          @Value("${chatbot.intents.location:classpath:chatbot/intents.yml}") String location) {
+        this.matcher = IntentMatcher.compile(load(resourceLoader.getResource(location)));
+        log.info("Loaded {} chatbot intents from {}", matcher.size(), location);
+    }
+
+    /**
+     * Response of the highest-priority intent matching the message, or
+     * {@code null} when no rule applies.
+     */
+    public String respond(String message) {
+        IntentRule intent = matcher.match(message);
+        if (intent == null) {
+            return null;
+        }
+        log.debug("Matched chatbot intent '{}'", intent.name());
+        return intent.response();
+    }
+
+    public List<IntentRule> rules() {
+        return matcher.rules();
+    }
+
+    static List<IntentRule> load(Resource resource) {
+        YAMLMapper mapper = YAMLMapper.builder(new YAMLFactory())
+                .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .build();
+        try (InputStream in = resource.getInputStream()) {
+            return mapper.readValue(in, IntentFile.class).intents();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load chatbot intents from " + resource.getDescription(), ex);
+        }
+    }
+
+    private record IntentFile(List<IntentRule> intents) { }
+}
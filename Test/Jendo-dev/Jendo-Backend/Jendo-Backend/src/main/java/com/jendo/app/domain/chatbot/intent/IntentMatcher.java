@@ -0,0 +1,239 @@
+package com.jendo.app.domain.chatbot.intent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho–Corasick automaton over the keywords of all intents. A message is
+ * classified with one case-folding scan that records where each keyword
+ * occurs; intents are then checked in priority order against those
+ * occurrences, so the cost is linear in the message length regardless of
+ * how many rules there are. Instances are immutable and thread-safe.
+ */
+public final class IntentMatcher {
+
+    private final List<IntentRule> rules;
+    /** rule -> keyword alternatives -> pattern ids of the ordered parts */
+    private final int[][][] ruleAlternatives;
+    private final int[] patternLengths;
+
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    private IntentMatcher(List<IntentRule> rules, int[][][] ruleAlternatives, int[] patternLengths,
+                          char[][] edgeChars, int[][] edgeTargets, int[] fail, int[][] outputs) {
+        this.rules = rules;
+        this.ruleAlternatives = ruleAlternatives;
+        this.patternLengths = patternLengths;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    public static IntentMatcher compile(List<IntentRule> rules) {
+        List<IntentRule> ordered = rules.stream()
+                .sorted(Comparator.comparingInt(IntentRule::priority))
+                .toList();
+
+        Map<String, Integer> patternIds = new LinkedHashMap<>();
+        int[][][] alternatives = new int[ordered.size()][][];
+        for (int r = 0; r < ordered.size(); r++) {
+            List<String> keywords = ordered.get(r).keywords();
+            alternatives[r] = new int[keywords.size()][];
+            for (int k = 0; k < keywords.size(); k++) {
+                alternatives[r][k] = Arrays.stream(keywords.get(k).split("\\*"))
+                        .map(part -> part.trim().toLowerCase(Locale.ROOT))
+                        .filter(part -> !part.isEmpty())
+                        .mapToInt(part -> patternIds.computeIfAbsent(part, p -> patternIds.size()))
+                        .toArray();
+                if (alternatives[r][k].length == 0) {
+                    throw new IllegalArgumentException("Empty keyword in intent " + ordered.get(r).name());
+                }
+            }
+        }
+
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeOutputs.add(new ArrayList<>());
+        int[] lengths = new int[patternIds.size()];
+        for (Map.Entry<String, Integer> pattern : patternIds.entrySet()) {
+            String text = pattern.getKey();
+            lengths[pattern.getValue()] = text.length();
+            int node = 0;
+            for (int i = 0; i < text.length(); i++) {
+                Integer next = children.get(node).get(text.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                    children.get(node).put(text.charAt(i), next);
+                }
+                node = next;
+            }
+            nodeOutputs.get(node).add(pattern.getValue());
+        }
+
+        int nodes = children.size();
+        char[][] edgeChars = new char[nodes][];
+        int[][] edgeTargets = new int[nodes][];
+        for (int n = 0; n < nodes; n++) {
+            TreeMap<Character, Integer> edges = children.get(n);
+            edgeChars[n] = new char[edges.size()];
+            edgeTargets[n] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[n][i] = edge.getKey();
+                edgeTargets[n][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        int[] fail = new int[nodes];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int f = fail[node];
+                while (f != 0 && step(edgeChars, edgeTargets, f, c) < 0) {
+                    f = fail[f];
+                }
+                int target = step(edgeChars, edgeTargets, f, c);
+                fail[child] = target >= 0 ? target : 0;
+                nodeOutputs.get(child).addAll(nodeOutputs.get(fail[child]));
+                queue.add(child);
+            }
+        }
+
+        int[][] outputs = new int[nodes][];
+        for (int n = 0; n < nodes; n++) {
+            outputs[n] = nodeOutputs.get(n).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new IntentMatcher(ordered, alternatives, lengths, edgeChars, edgeTargets, fail, outputs);
+    }
+
+    /**
+     * The highest-priority intent matching the message, or {@code null}.
+     */
+    public IntentRule match(CharSequence message) {
+        Occurrences occurrences = scan(message);
+        for (int r = 0; r < rules.size(); r++) {
+            boolean prefix = rules.get(r).match() == IntentRule.MatchMode.PREFIX;
+            for (int[] parts : ruleAlternatives[r]) {
+                if (occurrences.matches(parts, prefix)) {
+                    return rules.get(r);
+                }
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * The compiled rules in priority order.
+     */
+    public List<IntentRule> rules() {
+        return rules;
+    }
+
+    private Occurrences scan(CharSequence message) {
+        Occurrences occurrences = new Occurrences(patternLengths);
+        int state = 0;
+        int firstContent = -1;
+        for (int i = 0; i < message.length(); i++) {
+            char c = Character.toLowerCase(message.charAt(i));
+            if (firstContent < 0 && !Character.isWhitespace(c)) {
+                firstContent = i;
+            }
+            int next;
+            while ((next = step(edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            for (int pattern : outputs[state]) {
+                occurrences.add(pattern, i - patternLengths[pattern] + 1);
+            }
+        }
+        occurrences.contentStart = Math.max(firstContent, 0);
+        return occurrences;
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int node, char c) {
+        int index = Arrays.binarySearch(edgeChars[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    /**
+     * Start offsets of every keyword occurrence found in one scan.
+     */
+    private static final class Occurrences {
+        private final int[] lengths;
+        private final int[][] starts;
+        private final int[] counts;
+        private int contentStart;
+
+        private Occurrences(int[] lengths) {
+            this.lengths = lengths;
+            this.starts = new int[lengths.length][];
+            this.counts = new int[lengths.length];
+        }
+
+        private void add(int pattern, int start) {
+            int count = counts[pattern];
+            if (starts[pattern] == null) {
+                starts[pattern] = new int[4];
+            } else if (count == starts[pattern].length) {
+                starts[pattern] = Arrays.copyOf(starts[pattern], count * 2);
+            }
+            starts[pattern][count] = start;
+            counts[pattern] = count + 1;
+        }
+
+        /**
+         * Whether the parts occur in order without overlapping, the first one
+         * at the start of the message when {@code prefix} is set.
+         */
+        private boolean matches(int[] parts, boolean prefix) {
+            int from = prefix ? contentStart : 0;
+            for (int p = 0; p < parts.length; p++) {
+                int[] list = starts[parts[p]];
+                if (list == null) {
+                    return false;
+                }
+                int count = counts[parts[p]];
+                int earliest = -1;
+                for (int i = 0; i < count; i++) {
+                    int start = list[i];
+                    boolean allowed = (prefix && p == 0) ? start == from : start >= from;
+                    if (allowed && (earliest < 0 || start < earliest)) {
+                        earliest = start;
+                    }
+                }
+                if (earliest < 0) {
+                    return false;
+                }
+                from = earliest + lengths[parts[p]];
+            }
+            return true;
+        }
+    }
+}
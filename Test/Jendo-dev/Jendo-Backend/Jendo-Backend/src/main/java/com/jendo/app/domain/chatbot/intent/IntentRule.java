@@ -0,0 +1,18 @@
+package com.jendo.app.domain.chatbot.intent;
+
+import java.util.List;
+
+/**
+ * One rule-based chatbot intent as declared in {@code chatbot/intents.yml}.
+ * A keyword of the form {@code "a * b"} matches when {@code a} is followed
+ * later in the message by {@code b}.
+ */
+public record IntentRule(String name, int priority, MatchMode match, List<String> keywords, String response) {
+
+    public enum MatchMode { CONTAINS, PREFIX }
+
+    public IntentRule {
+        match = match != null ? match : MatchMode.CONTAINS;
+        keywords = keywords != null ? List.copyOf(keywords) : List.of();
+    }
+}
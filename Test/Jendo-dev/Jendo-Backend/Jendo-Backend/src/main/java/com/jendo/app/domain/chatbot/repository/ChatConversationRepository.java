@@ -0,0 +1,20 @@
+package com.jendo.app.domain.chatbot.repository;
+
+import com.jendo.app.domain.chatbot.entity.ChatConversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ChatConversationRepository extends JpaRepository<ChatConversation, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from ChatConversation c where c.updatedAt < :cutoff")
+    int deleteUpdatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
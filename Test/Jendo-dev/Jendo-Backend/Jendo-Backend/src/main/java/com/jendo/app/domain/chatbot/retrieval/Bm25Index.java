@@ -0,0 +1,162 @@
+package com.jendo.app.domain.chatbot.retrieval;
+
+import com.jendo.app.domain.chatbot.cache.QuestionNormalizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25. Documents can be added,
+ * replaced and removed one at a time; only the postings of the affected
+ * terms change. Terms are lower-cased words with stopwords dropped and a
+ * trailing plural "s" removed. Safe for concurrent readers and writers.
+ */
+final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> QUESTION_WORDS = Set.of(
+            "what", "how", "why", "when", "where", "which", "who", "much", "many");
+
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Map<String, Integer>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    void put(String documentId, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(documentId, frequency));
+            documentTerms.put(documentId, frequencies);
+            totalLength += length(frequencies);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String documentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code limit} documents for the query, highest score first.
+     * {@link Hit#coverage()} is the share of distinct query terms the
+     * document contains.
+     */
+    List<Hit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(terms(query));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documents = documentTerms.size();
+            if (documents == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents;
+            Map<String, double[]> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((documentId, frequency) -> {
+                    double norm = K1 * (1 - B + B * length(documentTerms.get(documentId)) / averageLength);
+                    double[] score = scores.computeIfAbsent(documentId, id -> new double[2]);
+                    score[0] += idf * frequency * (K1 + 1) / (frequency + norm);
+                    score[1]++;
+                });
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((documentId, score) -> hits.add(new Hit(documentId, score[0], score[1] / queryTerms.size())));
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::documentId));
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (c != '\'' && word.length() > 0) {
+                String term = word.toString();
+                if (term.length() > 1 && !QuestionNormalizer.isStopword(term) && !QUESTION_WORDS.contains(term)) {
+                    terms.add(stem(term));
+                }
+                word.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    private static String stem(String word) {
+        return word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")
+                ? word.substring(0, word.length() - 1)
+                : word;
+    }
+
+    private void removeLocked(String documentId) {
+        Map<String, Integer> previous = documentTerms.remove(documentId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= length(previous);
+        for (String term : previous.keySet()) {
+            Map<String, Integer> posting = postings.get(term);
+            posting.remove(documentId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static int length(Map<String, Integer> frequencies) {
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+
+    record Hit(String documentId, double score, double coverage) { }
+}
@@ -0,0 +1,174 @@
+package com.jendo.app.domain.chatbot.retrieval;
+
+import com.jendo.app.domain.chatbot.intent.ChatbotIntents;
+import com.jendo.app.domain.chatbot.intent.IntentRule;
+import com.jendo.app.domain.learningmaterial.entity.LearningMaterial;
+import com.jendo.app.domain.learningmaterial.event.LearningMaterialChangedEvent;
+import com.jendo.app.domain.learningmaterial.repository.LearningMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local BM25 retrieval over the learning materials and the rule answers,
+ * used as the chatbot tier between the rules and the remote model and to
+ * ground model prompts. Rule answers are indexed at startup; learning
+ * materials are loaded on first use and then kept current one row at a time
+ * from {@link LearningMaterialChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class ChatKnowledgeIndex {
+
+    private static final String MATERIAL_PREFIX = "material:";
+    private static final String RULE_PREFIX = "rule:";
+
+    private final LearningMaterialRepository learningMaterialRepository;
+    private final double answerMinScore;
+    private final double minCoverage;
+    private final int passageMaxChars;
+    private final Bm25Index index = new Bm25Index();
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    // Not a monitor: the first load reads Postgres and must not pin a virtual thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean materialsLoaded;
+
+    public ChatKnowledgeIndex(LearningMaterialRepository learningMaterialRepository,
+                              ChatbotIntents chatbotIntents,
+                              @Value("${chatbot.retrieval.answer-min-score:3.0}") double answerMinScore,
+                              @Value("${chatbot.retrieval.min-coverage:0.6}") double minCoverage,
+                              @Value("${chatbot.retrieval.passage-max-chars:300}") int passageMaxChars) {
+        this.learningMaterialRepository = learningMaterialRepository;
+        this.answerMinScore = answerMinScore;
+        this.minCoverage = minCoverage;
+        this.passageMaxChars = passageMaxChars;
+        for (IntentRule rule : chatbotIntents.rules()) {
+            // Prefix intents are conversational openers (greetings), not knowledge
+            if (rule.match() != IntentRule.MatchMode.PREFIX) {
+                add(RULE_PREFIX + rule.name(), String.join(" ", rule.keywords()).replace('*', ' ') + " " + rule.response(),
+                        rule.response(), rule.response());
+            }
+        }
+    }
+
+    /**
+     * Answer of the best-matching document when it matches the question
+     * confidently enough, otherwise {@code null}.
+     */
+    public String answer(String question) {
+        ensureMaterialsLoaded();
+        List<Bm25Index.Hit> hits = index.search(question, 1);
+        if (hits.isEmpty()) {
+            return null;
+        }
+        Bm25Index.Hit best = hits.get(0);
+        if (best.score() < answerMinScore || best.coverage() < minCoverage) {
+            return null;
+        }
+        Document document = documents.get(best.documentId());
+        if (document == null) {
+            return null;
+        }
+        log.debug("Retrieved chatbot answer {} (score {}, coverage {})", best.documentId(), best.score(), best.coverage());
+        return document.answer();
+    }
+
+    /**
+     * Short passages from up to {@code limit} relevant documents, for the
+     * model prompt.
+     */
+    public List<String> passages(String question, int limit) {
+        ensureMaterialsLoaded();
+        return index.search(question, limit).stream()
+                .filter(hit -> hit.coverage() >= minCoverage)
+                .map(hit -> documents.get(hit.documentId()))
+                .filter(document -> document != null)
+                .map(Document::passage)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLearningMaterialChanged(LearningMaterialChangedEvent event) {
+        if (!materialsLoaded) {
+            return;
+        }
+        try {
+            learningMaterialRepository.findById(event.learningMaterialId())
+                    .ifPresentOrElse(this::addMaterial, () -> remove(MATERIAL_PREFIX + event.learningMaterialId()));
+            log.debug("Learning material {} re-indexed for the chatbot", event.learningMaterialId());
+        } catch (Exception ex) {
+            log.warn("Failed to re-index learning material {} for the chatbot", event.learningMaterialId(), ex);
+        }
+    }
+
+    private void ensureMaterialsLoaded() {
+        if (materialsLoaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (materialsLoaded) {
+                return;
+            }
+            try {
+                long startedAt = System.nanoTime();
+                List<LearningMaterial> materials = learningMaterialRepository.findAll();
+                materials.forEach(this::addMaterial);
+                log.info("Chatbot knowledge index built: {} documents ({} learning materials) in {} ms",
+                        index.size(), materials.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            } catch (Exception ex) {
+                log.warn("Failed to load learning materials into the chatbot knowledge index", ex);
+            }
+            // A failed load is not retried on every message; edits still arrive through events
+            materialsLoaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void addMaterial(LearningMaterial material) {
+        String title = material.getTitle();
+        String description = StringUtils.hasText(material.getDescription()) ? material.getDescription() : "";
+        String category = StringUtils.hasText(material.getCategory()) ? material.getCategory() : "";
+
+        StringBuilder answer = new StringBuilder("📚 **").append(title).append("**");
+        if (!description.isEmpty()) {
+            answer.append("\n\n").append(description);
+        }
+        if (!category.isEmpty()) {
+            answer.append("\n\nCategory: ").append(category);
+        }
+        if (StringUtils.hasText(material.getVideoUrl())) {
+            answer.append("\n▶️ ").append(material.getVideoUrl());
+        }
+        answer.append("\n\nYou can find this in the Learning section of the Jendo app.");
+
+        // The title is repeated so title words weigh more than description words
+        add(MATERIAL_PREFIX + material.getId(), title + " " + title + " " + category + " " + description,
+                answer.toString(), description.isEmpty() ? title : title + ": " + description);
+    }
+
+    private void add(String documentId, String indexedText, String answer, String passage) {
+        String flattened = passage.replaceAll("[*#•]+", "").replaceAll("\\s+", " ").trim();
+        if (flattened.length() > passageMaxChars) {
+            flattened = flattened.substring(0, passageMaxChars) + "…";
+        }
+        documents.put(documentId, new Document(answer, flattened));
+        index.put(documentId, indexedText);
+    }
+
+    private void remove(String documentId) {
+        index.remove(documentId);
+        documents.remove(documentId);
+    }
+
+    private record Document(String answer, String passage) { }
+}
@@ -1,8 +1,42 @@
 package com.jendo.app.domain.chatbot.service;
 
+import com.jendo.app.common.dto.AdmissionStatsDto;
+import com.jendo.app.common.dto.BulkheadStatsDto;
+import com.jendo.app.common.dto.CacheStatsDto;
+import com.jendo.app.common.dto.HedgeStatsDto;
+import com.jendo.app.common.dto.OutboundHostStatsDto;
 import com.jendo.app.domain.chatbot.dto.ChatRequest;
 import com.jendo.app.domain.chatbot.dto.ChatResponse;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface ChatbotService {
     ChatResponse sendMessage(ChatRequest request);
+
+    /**
+     * Answers from the rules, caches and knowledge index only, without
+     * calling a model; used while the AI endpoints are at capacity.
+     */
+    ChatResponse sendDegradedMessage(ChatRequest request);
+
+    /**
+     * Answers like {@link #sendMessage} but passes model tokens to
+     * {@code onToken} as they are generated. The future completes with the
+     * full reply; cancelling it stops the upstream call.
+     */
+    CompletableFuture<ChatResponse> streamMessage(ChatRequest request, Consumer<String> onToken);
+
+    List<OutboundHostStatsDto> getLlmClientStats();
+
+    List<HedgeStatsDto> getHedgeStats();
+
+    CacheStatsDto getResponseCacheStats();
+
+    CacheStatsDto getConversationStats();
+
+    AdmissionStatsDto getAdmissionStats();
+
+    List<BulkheadStatsDto> getBulkheadStats();
 }
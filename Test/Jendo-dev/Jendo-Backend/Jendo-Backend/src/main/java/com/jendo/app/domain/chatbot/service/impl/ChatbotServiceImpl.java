@@ -1,23 +1,36 @@
 package com.jendo.app.domain.chatbot.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jendo.app.common.bulkhead.Bulkheads;
+import com.jendo.app.common.dto.AdmissionStatsDto;
+import com.jendo.app.common.dto.BulkheadStatsDto;
+import com.jendo.app.common.dto.CacheStatsDto;
+import com.jendo.app.common.dto.HedgeStatsDto;
+import com.jendo.app.common.dto.OutboundHostStatsDto;
+import com.jendo.app.common.http.HedgedLlmCaller;
+import com.jendo.app.common.http.LlmHttpClient;
+import com.jendo.app.common.ratelimit.AdmissionControl;
+import com.jendo.app.domain.chatbot.cache.ChatResponseCache;
+import com.jendo.app.domain.chatbot.context.ConversationContextStore;
 import com.jendo.app.domain.chatbot.dto.ChatRequest;
 import com.jendo.app.domain.chatbot.dto.ChatResponse;
+import com.jendo.app.domain.chatbot.intent.ChatbotIntents;
+import com.jendo.app.domain.chatbot.retrieval.ChatKnowledgeIndex;
 import com.jendo.app.domain.chatbot.service.ChatbotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -25,20 +38,41 @@ import java.util.regex.Pattern;
 public class ChatbotServiceImpl implements ChatbotService {
     
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
+    private final LlmHttpClient llmHttpClient;
+    private final HedgedLlmCaller hedgedLlmCaller;
+    private final ChatbotIntents chatbotIntents;
+    private final ChatResponseCache responseCache;
+    private final ConversationContextStore conversationContext;
+    private final ChatKnowledgeIndex knowledgeIndex;
+    private final AdmissionControl admissionControl;
+    private final Bulkheads bulkheads;
     
     // Free Hugging Face API endpoints
-    private static final String HF_API_URL_PRIMARY = "https://api-inference.huggingface.co/models/microsoft/DialoGPT-medium";
-    private static final String HF_API_URL_BACKUP = "https://api-inference.huggingface.co/models/microsoft/DialoGPT-small";
+    @Value("${chatbot.huggingface.primary-url:https://api-inference.huggingface.co/models/microsoft/DialoGPT-medium}")
+    private String huggingFacePrimaryUrl;
     
-    // Rule-based response patterns
-    private static final Map<Pattern, String> RESPONSE_PATTERNS = initializePatterns();
+    @Value("${chatbot.huggingface.backup-url:https://api-inference.huggingface.co/models/microsoft/DialoGPT-small}")
+    private String huggingFaceBackupUrl;
+    
+    @Value("${chatbot.huggingface.timeout-ms:15000}")
+    private long huggingFaceTimeoutMs;
+    
+    private static final int PROMPT_PASSAGES = 2;
 
     @Override
     public ChatResponse sendMessage(ChatRequest request) {
+        return answer(request, true);
+    }
+    
+    @Override
+    public ChatResponse sendDegradedMessage(ChatRequest request) {
+        return answer(request, false);
+    }
+    
+    private ChatResponse answer(ChatRequest request, boolean allowModel) {
         String userMessage = request.getMessage().trim();
+        String sessionId = sessionIdOf(request);
+        String owner = request.getOwner();
         log.info("Processing chatbot message: {}", userMessage);
         
         try {
@@ -46,197 +80,231 @@ public class ChatbotServiceImpl implements ChatbotService {
             String ruleBasedResponse = getRuleBasedResponse(userMessage);
             if (ruleBasedResponse != null) {
                 log.info("✅ Rule-based response matched");
-                return createSuccessResponse(ruleBasedResponse);
+                return remember(owner, sessionId, userMessage, createSuccessResponse(ruleBasedResponse));
+            }
+            
+            String cachedResponse = responseCache.get(userMessage);
+            if (cachedResponse != null) {
+                log.info("✅ Cached response matched");
+                return remember(owner, sessionId, userMessage, createSuccessResponse(cachedResponse));
+            }
+            
+            String retrievedResponse = knowledgeIndex.answer(userMessage);
+            if (retrievedResponse != null) {
+                log.info("✅ Knowledge index response matched");
+                return remember(owner, sessionId, userMessage, createSuccessResponse(retrievedResponse));
+            }
+            
+            if (!allowModel) {
+                log.info("ℹ️ AI endpoints at capacity, using comprehensive fallback response");
+                return fallback(owner, sessionId, userMessage);
             }
             
             // Tier 2: Free Hugging Face API (Secondary - AI-powered)
-            String aiResponse = getHuggingFaceResponse(userMessage);
+            String context = conversationContext.context(owner, request.getSessionId(), request.getHistory());
+            String aiResponse = getHuggingFaceResponse(userMessage, context);
             if (aiResponse != null && !aiResponse.isBlank()) {
                 log.info("✅ Hugging Face AI response received");
                 String enrichedResponse = enrichHealthResponse(aiResponse);
-                return createSuccessResponse(enrichedResponse);
+                cacheIfStandalone(userMessage, context, enrichedResponse);
+                return remember(owner, sessionId, userMessage, createSuccessResponse(enrichedResponse));
             }
             
             // Tier 3: Comprehensive Fallback (Tertiary - Always available)
             log.info("ℹ️ Using comprehensive fallback response");
-            return createComprehensiveFallback(userMessage);
+            return fallback(owner, sessionId, userMessage);
             
         } catch (Exception e) {
             log.error("Error processing chatbot message", e);
-            return createComprehensiveFallback(userMessage);
+            return fallback(owner, sessionId, userMessage);
         }
     }
     
-    // ==================== TIER 1: RULE-BASED RESPONSES ====================
-    
-    private static Map<Pattern, String> initializePatterns() {
-        Map<Pattern, String> patterns = new LinkedHashMap<>();
-        
-        // Greetings
-        patterns.put(Pattern.compile("(?i)^(hi|hello|hey|good morning|good afternoon|good evening|greetings).*"),
-                "👋 Hello! I'm Jendo Health Assistant. I can help you learn about:\n\n" +
-                "• Jendo cardiovascular health technology\n" +
-                "• The Jendo non-invasive health test\n" +
-                "• Cardiovascular health and prevention\n" +
-                "• How to schedule a test\n\n" +
-                "What would you like to know?");
-        
-        // About Jendo
-        patterns.put(Pattern.compile("(?i).*(what is jendo|tell me about jendo|about jendo|jendo company).*"),
-                "🫀 **About Jendo**\n\n" +
-                "Jendo is an AI-powered, non-invasive cardiovascular health technology designed for early detection of vascular dysfunction.\n\n" +
-                "**Key Features:**\n" +
-                "• Non-invasive and painless\n" +
-                "• Uses Photoplethysmography (PPG) + Digital Thermal Monitoring (DTM)\n" +
-                "• AI-driven analysis\n" +
-                "• Early cardiovascular risk detection\n\n" +
-                "Jendo supports early detection and preventive care but does not replace professional medical advice.");
-        
-        // How it works
-        patterns.put(Pattern.compile("(?i).*(how does.*work|how it works|jendo technology|jendo test procedure|test process).*"),
-                "📋 **Jendo Health Test Procedure**\n\n" +
-                "**Duration:** Approximately 15 minutes\n\n" +
-                "**Steps:**\n" +
-                "1. You lie down comfortably in a supine position\n" +
-                "2. PPG and DTM sensors extract vascular signals\n" +
-                "3. Brief pressure cuff occlusion and release\n" +
-                "4. Continued signal monitoring\n" +
-                "5. Data uploaded to cloud for AI analysis\n\n" +
-                "✅ **Completely non-invasive** - No needles, no radiation, painless!\n\n" +
-                "Jendo supports early detection and preventive care but does not replace professional medical advice.");
-        
-        // Heart health
-        patterns.put(Pattern.compile("(?i).*(heart health|cardiovascular|heart disease|blood pressure|vascular health).*"),
-                "❤️ **Cardiovascular Health Information**\n\n" +
-                "Cardiovascular disease (CVD) is a leading cause of mortality globally. Many conditions remain unnoticed until serious events occur.\n\n" +
-                "**Jendo Measures:**\n" +
-                "• Endothelial function (blood vessel lining health)\n" +
-                "• Vascular reactivity\n" +
-                "• Early cardiovascular risk indicators\n\n" +
-                "**Vascular Health Score:**\n" +
-                "Jendo generates a score for predictive cardiovascular risk assessment, enabling early risk identification and preventive monitoring.\n\n" +
-                "⚠️ **Important:** This is NOT a medical diagnosis and must be interpreted by healthcare professionals.\n\n" +
-                "Jendo supports early detection and preventive care but does not replace professional medical advice.");
-        
-        // Safety and comfort
-        patterns.put(Pattern.compile("(?i).*(safe|safety|painful|pain|comfortable|radiation|invasive).*"),
-                "✅ **Jendo Test Safety & Comfort**\n\n" +
-                "The Jendo test is:\n" +
-                "• **Completely non-invasive** - No needles\n" +
-                "• **No radiation**\n" +
-                "• **Painless and comfortable**\n" +
-                "• **Suitable for routine screening**\n" +
-                "• **Quick** - Only 15 minutes\n\n" +
-                "It's designed for preventive health monitoring with your comfort and safety as top priorities!");
-        
-        // Patents
-        patterns.put(Pattern.compile("(?i).*(patent|patented|innovation|technology|research).*"),
-                "🔬 **Jendo Patented Technology**\n\n" +
-                "Jendo's core technology is protected by patents in:\n" +
-                "• 🇯🇵 Japan\n" +
-                "• 🇱🇰 Sri Lanka\n" +
-                "• 🇺🇸 USA\n\n" +
-                "**Patent Coverage:**\n" +
-                "• Non-invasive vascular assessment methods\n" +
-                "• Advanced signal processing techniques\n" +
-                "• AI-based cardiovascular risk analysis\n\n" +
-                "Our technology represents cutting-edge innovation in preventive cardiovascular health.");
-        
-        // Pricing and scheduling
-        patterns.put(Pattern.compile("(?i).*(price|cost|how much|booking|schedule|appointment|availability).*"),
-                "📅 **Scheduling & Availability**\n\n" +
-                "To schedule a Jendo Health Test or inquire about pricing:\n\n" +
-                "📞 **Call us:** 0766210120\n" +
-                "📧 **Email:** info@jendoinnovations.com\n" +
-                "🌐 **Website:** https://www.jendo.health/\n\n" +
-                "Our team will be happy to assist you with scheduling and provide detailed information about test availability and pricing.");
-        
-        // Contact information
-        patterns.put(Pattern.compile("(?i).*(contact|address|location|phone|email|reach you).*"),
-                "📞 **Contact Jendo**\n\n" +
-                "**Jendo Incorporation (USA)**\n" +
-                "📍 251, Little Falls Drive, Wilmington, New Castle County, Delaware\n" +
-                "📧 info@jendoinnovations.com\n" +
-                "📞 0766210120\n\n" +
-                "**AI Health R&D Centre**\n" +
-                "📍 Bay X, Trace Expert City\n" +
-                "📧 info@jendoinnovations.com\n" +
-                "📞 0766210120\n\n" +
-                "🌐 **Website:** https://www.jendo.health/");
+    @Override
+    public CompletableFuture<ChatResponse> streamMessage(ChatRequest request, Consumer<String> onToken) {
+        String userMessage = request.getMessage().trim();
+        String sessionId = sessionIdOf(request);
+        String owner = request.getOwner();
+        log.info("Streaming chatbot message: {}", userMessage);
         
-        return patterns;
+        try {
+            // Rule-based and cached answers are complete up front and go out as one message
+            String ruleBasedResponse = getRuleBasedResponse(userMessage);
+            if (ruleBasedResponse != null) {
+                log.info("✅ Rule-based response matched");
+                return CompletableFuture.completedFuture(remember(owner, sessionId, userMessage, createSuccessResponse(ruleBasedResponse)));
+            }
+            
+            String cachedResponse = responseCache.get(userMessage);
+            if (cachedResponse != null) {
+                log.info("✅ Cached response matched");
+                return CompletableFuture.completedFuture(remember(owner, sessionId, userMessage, createSuccessResponse(cachedResponse)));
+            }
+            
+            String retrievedResponse = knowledgeIndex.answer(userMessage);
+            if (retrievedResponse != null) {
+                log.info("✅ Knowledge index response matched");
+                return CompletableFuture.completedFuture(remember(owner, sessionId, userMessage, createSuccessResponse(retrievedResponse)));
+            }
+            
+            String context = conversationContext.context(owner, request.getSessionId(), request.getHistory());
+            String enhancedPrompt = buildPrompt(userMessage, context);
+            HuggingFaceTokenStream stream = new HuggingFaceTokenStream(objectMapper, onToken);
+            CompletableFuture<Void> upstream = llmHttpClient.postJsonStreaming(
+                    huggingFacePrimaryUrl,
+                    Map.of("Accept", "text/event-stream"),
+                    buildHuggingFaceRequest(enhancedPrompt, true),
+                    Duration.ofMillis(huggingFaceTimeoutMs),
+                    stream);
+            
+            CompletableFuture<ChatResponse> reply = upstream
+                    .handle((ignored, error) -> {
+                        if (error != null) {
+                            log.warn("Hugging Face stream failed: {}", error.getMessage());
+                            return null;
+                        }
+                        return stream.tokens() > 0
+                                ? cleanHuggingFaceResponse(stream.text(), enhancedPrompt)
+                                : parseHuggingFaceResponse(stream.rawBody(), enhancedPrompt);
+                    })
+                    .thenCompose(aiResponse -> aiResponse != null || stream.tokens() > 0
+                            ? CompletableFuture.completedFuture(aiResponse)
+                            // Nothing was streamed yet, so the hedged non-streaming call can still answer
+                            : requestHuggingFaceResponse(enhancedPrompt))
+                    .thenApply(aiResponse -> {
+                        if (aiResponse == null || aiResponse.isBlank()) {
+                            log.info("ℹ️ Using comprehensive fallback response");
+                            return fallback(owner, sessionId, userMessage);
+                        }
+                        log.info("✅ Hugging Face AI response streamed");
+                        String enrichedResponse = enrichHealthResponse(aiResponse);
+                        cacheIfStandalone(userMessage, context, enrichedResponse);
+                        return remember(owner, sessionId, userMessage, createSuccessResponse(enrichedResponse));
+                    })
+                    .exceptionally(e -> {
+                        log.error("Error streaming chatbot message", e);
+                        return fallback(owner, sessionId, userMessage);
+                    });
+            // A client that goes away cancels the reply; stop generating upstream as well
+            reply.whenComplete((response, error) -> {
+                if (error instanceof CancellationException) {
+                    upstream.cancel(true);
+                }
+            });
+            return reply;
+            
+        } catch (Exception e) {
+            log.error("Error processing chatbot message", e);
+            return CompletableFuture.completedFuture(fallback(owner, sessionId, userMessage));
+        }
+    }
+    
+    @Override
+    public List<OutboundHostStatsDto> getLlmClientStats() {
+        return llmHttpClient.stats();
+    }
+    
+    @Override
+    public List<HedgeStatsDto> getHedgeStats() {
+        return hedgedLlmCaller.stats();
     }
     
+    @Override
+    public CacheStatsDto getResponseCacheStats() {
+        return responseCache.stats();
+    }
+    
+    @Override
+    public CacheStatsDto getConversationStats() {
+        return conversationContext.stats();
+    }
+    
+    @Override
+    public AdmissionStatsDto getAdmissionStats() {
+        return admissionControl.stats();
+    }
+    
+    @Override
+    public List<BulkheadStatsDto> getBulkheadStats() {
+        return bulkheads.stats();
+    }
+    
+    // ==================== TIER 1: RULE-BASED RESPONSES ====================
+    
     private String getRuleBasedResponse(String message) {
-        String normalizedMessage = message.toLowerCase().trim();
-        
-        for (Map.Entry<Pattern, String> entry : RESPONSE_PATTERNS.entrySet()) {
-            if (entry.getKey().matcher(normalizedMessage).matches()) {
-                return entry.getValue();
-            }
-        }
-        
-        return null;
+        return chatbotIntents.respond(message);
     }
     
     // ==================== TIER 2: HUGGING FACE FREE API ====================
     
-    private String getHuggingFaceResponse(String userMessage) {
+    private String getHuggingFaceResponse(String userMessage, String context) {
         try {
-            // Prepare health-focused prompt
-            String enhancedPrompt = "You are Jendo Health Assistant helping with cardiovascular health questions. " +
-                    "User asks: " + userMessage;
-            
-            // Try primary model first
-            String response = callHuggingFaceAPI(HF_API_URL_PRIMARY, enhancedPrompt);
-            if (response != null) {
-                return response;
-            }
-            
-            // Fallback to backup model
-            log.info("Primary model failed, trying backup model");
-            response = callHuggingFaceAPI(HF_API_URL_BACKUP, enhancedPrompt);
-            return response;
-            
+            return requestHuggingFaceResponse(buildPrompt(userMessage, context)).join();
         } catch (Exception e) {
             log.warn("Hugging Face API failed: {}", e.getMessage());
             return null;
         }
     }
     
-    private String callHuggingFaceAPI(String apiUrl, String prompt) {
+    private String buildPrompt(String userMessage, String context) {
+        // Prepare health-focused prompt; the context is already cut to the store's token budget
+        List<String> passages = knowledgeIndex.passages(userMessage, PROMPT_PASSAGES);
+        String knowledge = passages.isEmpty() ? "" : "Relevant Jendo information:\n- " + String.join("\n- ", passages) + "\n";
+        String conversation = context.isEmpty() ? "" : "Conversation so far:\n" + context;
+        return "You are Jendo Health Assistant helping with cardiovascular health questions. " +
+                knowledge + conversation + "User asks: " + userMessage;
+    }
+    
+    private void cacheIfStandalone(String userMessage, String context, String answer) {
+        // Answers shaped by earlier turns would be wrong for someone else asking the same words
+        if (context.isEmpty()) {
+            responseCache.put(userMessage, answer);
+        }
+    }
+    
+    private CompletableFuture<String> requestHuggingFaceResponse(String prompt) {
+        String requestBody;
         try {
-            ObjectNode requestBody = objectMapper.createObjectNode();
-            requestBody.put("inputs", prompt);
-            
-            ObjectNode parameters = objectMapper.createObjectNode();
-            parameters.put("max_length", 200);
-            parameters.put("temperature", 0.7);
-            parameters.put("top_p", 0.9);
-            requestBody.set("parameters", parameters);
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(apiUrl))
-                    .header("Content-Type", "application/json")
-                    .timeout(Duration.ofSeconds(15))
-                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestBody)))
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            requestBody = buildHuggingFaceRequest(prompt, false);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        // Primary model first; the backup is hedged in once the primary runs past its usual latency
+        return hedgedLlmCaller.call(
+                huggingFacePrimaryUrl,
+                huggingFaceBackupUrl,
+                apiUrl -> llmHttpClient.postJsonAsync(apiUrl, Map.of(), requestBody, Duration.ofMillis(huggingFaceTimeoutMs)),
+                response -> parseHuggingFaceResponse(response, prompt));
+    }
+    
+    private String buildHuggingFaceRequest(String prompt, boolean stream) throws JsonProcessingException {
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("inputs", prompt);
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+        
+        ObjectNode parameters = objectMapper.createObjectNode();
+        parameters.put("max_length", 200);
+        parameters.put("temperature", 0.7);
+        parameters.put("top_p", 0.9);
+        requestBody.set("parameters", parameters);
+        
+        return objectMapper.writeValueAsString(requestBody);
+    }
+    
+    private String parseHuggingFaceResponse(String response, String prompt) {
+        try {
+            JsonNode responseJson = objectMapper.readTree(response);
             
-            if (response.statusCode() == 200) {
-                JsonNode responseJson = objectMapper.readTree(response.body());
-                
-                if (responseJson.isArray() && responseJson.size() > 0) {
-                    String generatedText = responseJson.get(0).get("generated_text").asText();
-                    return cleanHuggingFaceResponse(generatedText, prompt);
-                }
-            } else {
-                log.warn("Hugging Face API returned status: {}", response.statusCode());
+            if (responseJson.isArray() && responseJson.size() > 0) {
+                String generatedText = responseJson.get(0).get("generated_text").asText();
+                return cleanHuggingFaceResponse(generatedText, prompt);
             }
             
         } catch (Exception e) {
-            log.warn("Error calling Hugging Face API: {}", e.getMessage());
+            log.warn("Error parsing Hugging Face response: {}", e.getMessage());
         }
         
         return null;
@@ -314,6 +382,25 @@ public class ChatbotServiceImpl implements ChatbotService {
     
     // ==================== RESPONSE BUILDERS ====================
     
+    private String sessionIdOf(ChatRequest request) {
+        String sessionId = request.getSessionId();
+        return sessionId != null && !sessionId.isBlank() ? sessionId : UUID.randomUUID().toString();
+    }
+    
+    private ChatResponse remember(String owner, String sessionId, String userMessage, ChatResponse response) {
+        conversationContext.record(owner, sessionId, userMessage, response.getContent());
+        response.setSessionId(sessionId);
+        return response;
+    }
+    
+    private ChatResponse fallback(String owner, String sessionId, String userMessage) {
+        // The canned fallback carries no context worth keeping, only the question is remembered
+        conversationContext.record(owner, sessionId, userMessage, null);
+        ChatResponse response = createComprehensiveFallback(userMessage);
+        response.setSessionId(sessionId);
+        return response;
+    }
+    
     private ChatResponse createSuccessResponse(String content) {
         return ChatResponse.builder()
                 .id("assistant-" + UUID.randomUUID())
@@ -0,0 +1,71 @@
+package com.jendo.app.domain.chatbot.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Consumes the lines of a streamed Hugging Face text-generation response
+ * ({@code data:{"token":{"text":...}}} events), forwarding each generated
+ * token as it arrives and keeping the full text. Models that ignore
+ * {@code stream} answer with a plain JSON body, which is kept as-is so the
+ * caller can parse it like a non-streamed response.
+ */
+@Slf4j
+class HuggingFaceTokenStream implements Consumer<String> {
+
+    private static final String DATA_PREFIX = "data:";
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<String> onToken;
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder rawBody = new StringBuilder();
+    private int tokens;
+
+    HuggingFaceTokenStream(ObjectMapper objectMapper, Consumer<String> onToken) {
+        this.objectMapper = objectMapper;
+        this.onToken = onToken;
+    }
+
+    @Override
+    public void accept(String line) {
+        if (!line.startsWith(DATA_PREFIX)) {
+            if (!line.isBlank()) {
+                rawBody.append(line).append('\n');
+            }
+            return;
+        }
+
+        String payload = line.substring(DATA_PREFIX.length()).trim();
+        if (payload.isEmpty() || payload.equals("[DONE]")) {
+            return;
+        }
+        try {
+            JsonNode token = objectMapper.readTree(payload).path("token");
+            String piece = token.path("text").asText("");
+            if (token.path("special").asBoolean(false) || piece.isEmpty()) {
+                return;
+            }
+            text.append(piece);
+            tokens++;
+            onToken.accept(piece);
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping malformed Hugging Face stream event: {}", e.getMessage());
+        }
+    }
+
+    int tokens() {
+        return tokens;
+    }
+
+    String text() {
+        return text.toString();
+    }
+
+    String rawBody() {
+        return rawBody.toString();
+    }
+}
@@ -0,0 +1,4 @@
+package com.jendo.app.domain.jendotest.event;
+
+public record JendoTestCreatedEvent(Long userId, Long testId) {
+}
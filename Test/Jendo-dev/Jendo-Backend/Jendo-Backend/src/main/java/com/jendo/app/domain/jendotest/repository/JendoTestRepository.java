@@ -4,9 +4,12 @@ import com.jendo.app.domain.jendotest.entity.JendoTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +23,9 @@ public interface JendoTestRepository extends JpaRepository<JendoTest, Long> {
     List<JendoTest> findByRiskLevel(String riskLevel);
     
     Optional<JendoTest> findFirstByUserIdOrderByTestDateDescCreatedAtDesc(Long userId);
+
+    // Same ordering as findFirstByUserIdOrderByTestDateDescCreatedAtDesc, resolved for a whole page of users at once
+    @Query(value = "SELECT DISTINCT ON (t.user_id) t.* FROM jendo_tests t WHERE t.user_id IN (:userIds) "
+            + "ORDER BY t.user_id, t.test_date DESC, t.created_at DESC", nativeQuery = true)
+    List<JendoTest> findLatestByUserIds(@Param("userIds") Collection<Long> userIds);
 }
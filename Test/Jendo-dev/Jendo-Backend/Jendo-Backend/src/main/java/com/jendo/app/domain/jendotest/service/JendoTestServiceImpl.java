@@ -5,6 +5,7 @@ import com.jendo.app.common.exceptions.NotFoundException;
 import com.jendo.app.domain.jendotest.dto.JendoTestRequestDto;
 import com.jendo.app.domain.jendotest.dto.JendoTestResponseDto;
 import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.event.JendoTestCreatedEvent;
 import com.jendo.app.domain.jendotest.mapper.JendoTestMapper;
 import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
 import com.jendo.app.domain.user.entity.User;
@@ -12,6 +13,7 @@ import com.jendo.app.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +35,7 @@ public class JendoTestServiceImpl implements JendoTestService {
     private final JendoTestRepository jendoTestRepository;
     private final UserRepository userRepository;
     private final JendoTestMapper jendoTestMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public JendoTestResponseDto createTest(JendoTestRequestDto request) {
@@ -43,6 +46,7 @@ public class JendoTestServiceImpl implements JendoTestService {
         
         JendoTest test = jendoTestMapper.toEntity(request, user);
         test = jendoTestRepository.save(test);
+        eventPublisher.publishEvent(new JendoTestCreatedEvent(user.getId(), test.getId()));
         
         logger.info("Jendo test created successfully with ID: {}", test.getId());
         return jendoTestMapper.toResponseDto(test);
@@ -0,0 +1,4 @@
+package com.jendo.app.domain.learningmaterial.event;
+
+public record LearningMaterialChangedEvent(Long learningMaterialId) {
+}
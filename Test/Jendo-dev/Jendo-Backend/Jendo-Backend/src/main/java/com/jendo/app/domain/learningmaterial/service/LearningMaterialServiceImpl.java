@@ -5,11 +5,13 @@ import com.jendo.app.common.exceptions.NotFoundException;
 import com.jendo.app.domain.learningmaterial.dto.LearningMaterialRequestDto;
 import com.jendo.app.domain.learningmaterial.dto.LearningMaterialResponseDto;
 import com.jendo.app.domain.learningmaterial.entity.LearningMaterial;
+import com.jendo.app.domain.learningmaterial.event.LearningMaterialChangedEvent;
 import com.jendo.app.domain.learningmaterial.mapper.LearningMaterialMapper;
 import com.jendo.app.domain.learningmaterial.repository.LearningMaterialRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +31,7 @@ public class LearningMaterialServiceImpl implements LearningMaterialService {
     
     private final LearningMaterialRepository learningMaterialRepository;
     private final LearningMaterialMapper learningMaterialMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public LearningMaterialResponseDto createLearningMaterial(LearningMaterialRequestDto request) {
@@ -38,6 +41,7 @@ public class LearningMaterialServiceImpl implements LearningMaterialService {
         material = learningMaterialRepository.save(material);
         
         logger.info("Learning material created with ID: {}", material.getId());
+        eventPublisher.publishEvent(new LearningMaterialChangedEvent(material.getId()));
         return learningMaterialMapper.toResponseDto(material);
     }
 
@@ -94,6 +98,7 @@ public class LearningMaterialServiceImpl implements LearningMaterialService {
         
         material = learningMaterialRepository.save(material);
         logger.info("Learning material updated with ID: {}", id);
+        eventPublisher.publishEvent(new LearningMaterialChangedEvent(id));
         return learningMaterialMapper.toResponseDto(material);
     }
 
@@ -104,6 +109,7 @@ public class LearningMaterialServiceImpl implements LearningMaterialService {
             throw new NotFoundException("LearningMaterial", id);
         }
         learningMaterialRepository.deleteById(id);
+        eventPublisher.publishEvent(new LearningMaterialChangedEvent(id));
     }
     
     private PaginationResponse<LearningMaterialResponseDto> buildPaginationResponse(Page<LearningMaterial> materialPage) {
@@ -0,0 +1,10 @@
+package com.jendo.app.domain.notification.dto;
+
+/**
+ * The fields of a claimed scheduled notification the dispatcher needs to
+ * send it, read without loading the appointment graph. {@code attempts}
+ * includes the current claim.
+ */
+public record ClaimedNotification(Long id, Long userId, String type, String title, String message,
+                                  Long appointmentId, Integer attempts) {
+}
@@ -0,0 +1,9 @@
+package com.jendo.app.domain.notification.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An unsent scheduled notification as held by the in-memory timer.
+ */
+public record DueNotification(Long id, Long appointmentId, LocalDateTime scheduledFor) {
+}
@@ -36,6 +36,16 @@ public class DeviceToken {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // Consecutive failed sends; reset by a successful send or re-registration
+    @Column(name = "failure_count")
+    private Integer failureCount;
+
+    @Column(name = "last_success_at")
+    private LocalDateTime lastSuccessAt;
+
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
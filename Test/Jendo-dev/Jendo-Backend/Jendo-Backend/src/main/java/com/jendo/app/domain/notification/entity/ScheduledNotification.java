@@ -42,6 +42,21 @@ public class ScheduledNotification {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    // Dispatcher lease: the instance sending this row and until when it holds it
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Builder.Default
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    // Set when the last allowed attempt failed; the row is never sent and is archived like a sent one
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
     @Column(name = "data", columnDefinition = "TEXT")
     private String data;
 
@@ -0,0 +1,4 @@
+package com.jendo.app.domain.notification.event;
+
+public record ScheduledNotificationsChangedEvent(Long appointmentId) {
+}
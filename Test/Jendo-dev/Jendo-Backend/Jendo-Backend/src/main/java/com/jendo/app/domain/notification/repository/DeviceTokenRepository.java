@@ -2,9 +2,14 @@ package com.jendo.app.domain.notification.repository;
 
 import com.jendo.app.domain.notification.entity.DeviceToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +20,35 @@ public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long>
     List<String> findActiveTokensByUserId(Long userId);
 
     Optional<DeviceToken> findByFcmToken(String fcmToken);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DeviceToken dt SET dt.failureCount = 0, dt.lastSuccessAt = :now WHERE dt.fcmToken IN :tokens")
+    int recordSuccess(@Param("tokens") Collection<String> tokens, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DeviceToken dt SET dt.failureCount = COALESCE(dt.failureCount, 0) + 1 WHERE dt.fcmToken IN :tokens")
+    int recordFailure(@Param("tokens") Collection<String> tokens);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DeviceToken dt SET dt.isActive = false, dt.deactivatedAt = :now, dt.updatedAt = :now " +
+            "WHERE dt.fcmToken IN :tokens AND dt.isActive = true")
+    int deactivate(@Param("tokens") Collection<String> tokens, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DeviceToken dt SET dt.isActive = false, dt.deactivatedAt = :now, dt.updatedAt = :now " +
+            "WHERE dt.fcmToken IN :tokens AND dt.isActive = true AND dt.failureCount >= :maxFailures")
+    int deactivateFailing(@Param("tokens") Collection<String> tokens, @Param("maxFailures") int maxFailures,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM device_tokens WHERE id IN (" +
+            "SELECT id FROM device_tokens WHERE is_active = false AND deactivated_at < :cutoff " +
+            "ORDER BY deactivated_at LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteInactiveBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
\ No newline at end of file
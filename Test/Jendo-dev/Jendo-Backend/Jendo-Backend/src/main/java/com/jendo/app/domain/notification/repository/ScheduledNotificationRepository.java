@@ -1,16 +1,134 @@
 package com.jendo.app.domain.notification.repository;
 
+import com.jendo.app.domain.notification.dto.ClaimedNotification;
+import com.jendo.app.domain.notification.dto.DueNotification;
 import com.jendo.app.domain.notification.entity.ScheduledNotification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ScheduledNotificationRepository extends JpaRepository<ScheduledNotification, Long> {
 
-    List<ScheduledNotification> findByScheduledForBeforeAndSentFalse(LocalDateTime now);
-
     void deleteByAppointment_Id(Long appointmentId);
+
+    /**
+     * Locks up to {@code batchSize} due, unsent, not failed rows that no live
+     * lease holds.
+     * Rows locked by another instance's claim are skipped, not waited on.
+     * Must run in the same transaction as {@link #claim}.
+     */
+    @Query(value = "SELECT id FROM scheduled_notifications " +
+            "WHERE sent = false AND scheduled_for <= :now " +
+            "AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "AND COALESCE(attempts, 0) < :maxAttempts AND failed_at IS NULL " +
+            "ORDER BY scheduled_for LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockClaimable(@Param("now") LocalDateTime now,
+                             @Param("maxAttempts") int maxAttempts,
+                             @Param("batchSize") int batchSize);
+
+    /**
+     * Same as {@link #lockClaimable} but limited to the given rows, for
+     * notifications fired by the in-memory timer.
+     */
+    @Query(value = "SELECT id FROM scheduled_notifications " +
+            "WHERE id IN (:ids) AND sent = false AND scheduled_for <= :now " +
+            "AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "AND COALESCE(attempts, 0) < :maxAttempts AND failed_at IS NULL " +
+            "ORDER BY scheduled_for FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockClaimableIn(@Param("ids") Collection<Long> ids,
+                               @Param("now") LocalDateTime now,
+                               @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE ScheduledNotification sn SET sn.claimedBy = :owner, sn.claimedUntil = :leaseUntil, " +
+            "sn.attempts = COALESCE(sn.attempts, 0) + 1 WHERE sn.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT new com.jendo.app.domain.notification.dto.ClaimedNotification(" +
+            "sn.id, sn.userId, sn.type, sn.title, sn.message, a.id, sn.attempts) " +
+            "FROM ScheduledNotification sn LEFT JOIN sn.appointment a WHERE sn.id IN :ids ORDER BY sn.scheduledFor")
+    List<ClaimedNotification> findClaimed(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.jendo.app.domain.notification.dto.DueNotification(sn.id, a.id, sn.scheduledFor) " +
+            "FROM ScheduledNotification sn LEFT JOIN sn.appointment a " +
+            "WHERE sn.sent = false AND sn.failedAt IS NULL AND sn.scheduledFor < :horizon " +
+            "AND COALESCE(sn.attempts, 0) < :maxAttempts " +
+            "AND (sn.claimedUntil IS NULL OR sn.claimedUntil < :now) " +
+            "ORDER BY sn.scheduledFor")
+    List<DueNotification> findDueBefore(@Param("now") LocalDateTime now,
+                                        @Param("horizon") LocalDateTime horizon,
+                                        @Param("maxAttempts") int maxAttempts,
+                                        Pageable pageable);
+
+    @Query("SELECT new com.jendo.app.domain.notification.dto.DueNotification(sn.id, a.id, sn.scheduledFor) " +
+            "FROM ScheduledNotification sn JOIN sn.appointment a " +
+            "WHERE a.id = :appointmentId AND sn.sent = false AND sn.failedAt IS NULL AND sn.scheduledFor < :horizon")
+    List<DueNotification> findDueBeforeForAppointment(@Param("appointmentId") Long appointmentId,
+                                                      @Param("horizon") LocalDateTime horizon);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledNotification sn SET sn.sent = true, sn.sentAt = :now, " +
+            "sn.claimedBy = null, sn.claimedUntil = null WHERE sn.id = :id AND sn.claimedBy = :owner")
+    int markSent(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledNotification sn SET sn.claimedUntil = :retryAt " +
+            "WHERE sn.id = :id AND sn.claimedBy = :owner")
+    int retryAfter(@Param("id") Long id, @Param("owner") String owner, @Param("retryAt") LocalDateTime retryAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledNotification sn SET sn.failedAt = :now, " +
+            "sn.claimedBy = null, sn.claimedUntil = null WHERE sn.id = :id AND sn.claimedBy = :owner")
+    int markFailed(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Marks failed the unsent rows whose last allowed attempt was claimed but
+     * never finished, e.g. because the instance sending it stopped, once
+     * that lease has run out.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledNotification sn SET sn.failedAt = :now, sn.claimedBy = null, sn.claimedUntil = null " +
+            "WHERE sn.sent = false AND sn.failedAt IS NULL AND sn.attempts >= :maxAttempts " +
+            "AND (sn.claimedUntil IS NULL OR sn.claimedUntil < :now)")
+    int failExhausted(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves up to {@code batchSize} rows sent or failed before {@code cutoff}
+     * to scheduled_notifications_history in one statement, so a row is never
+     * in both tables or in neither.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM scheduled_notifications WHERE id IN (" +
+            "SELECT id FROM scheduled_notifications " +
+            "WHERE (sent = true AND sent_at < :cutoff) OR failed_at < :cutoff " +
+            "ORDER BY COALESCE(sent_at, failed_at) LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, appointment_id, user_id, type, title, message, scheduled_for, sent_at, failed_at, " +
+            "data, attempts, created_at) " +
+            "INSERT INTO scheduled_notifications_history (id, appointment_id, user_id, type, title, message, " +
+            "scheduled_for, sent_at, failed_at, data, attempts, created_at, archived_at) " +
+            "SELECT id, appointment_id, user_id, type, title, message, scheduled_for, sent_at, failed_at, " +
+            "data, attempts, created_at, :now FROM moved",
+            nativeQuery = true)
+    int archiveFinishedBatch(@Param("cutoff") LocalDateTime cutoff,
+                             @Param("batchSize") int batchSize,
+                             @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,62 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.repository.DeviceTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes device tokens that have been inactive for longer than the
+ * retention period, in bounded batches with a pause between them, so the
+ * device_tokens table only holds live tokens and recent history.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeviceTokenCleanupJob {
+
+    private final DeviceTokenRepository deviceTokenRepository;
+
+    @Value("${notifications.device-tokens.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${notifications.device-tokens.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${notifications.device-tokens.purge.pause-ms:200}")
+    private long pauseMs;
+
+    @Scheduled(cron = "0 20 3 * * *", zone = "Asia/Colombo")
+    public void purgeInactive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long startedAt = System.nanoTime();
+        long purged = 0;
+        int batches = 0;
+
+        try {
+            while (true) {
+                int deleted = deviceTokenRepository.deleteInactiveBatch(cutoff, batchSize);
+                purged += deleted;
+                batches++;
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Device token cleanup interrupted after purging {} rows", purged);
+            return;
+        } catch (Exception ex) {
+            log.error("Failed to purge inactive device tokens after purging {} rows", purged, ex);
+            return;
+        }
+
+        log.info("Device token cleanup purged {} tokens inactive since before {} in {} batches, {} ms",
+                purged, cutoff, batches, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
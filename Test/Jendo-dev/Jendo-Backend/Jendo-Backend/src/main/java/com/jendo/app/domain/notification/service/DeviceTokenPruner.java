@@ -0,0 +1,75 @@
+package com.jendo.app.domain.notification.service;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.jendo.app.domain.notification.repository.DeviceTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Feeds FCM send results back into the device tokens. Delivered tokens get
+ * their failure count reset and last-success time set. Tokens FCM reports
+ * as gone (UNREGISTERED, SENDER_ID_MISMATCH) are deactivated at once.
+ * INVALID_ARGUMENT is treated the same when another token in the send was
+ * delivered, which proves the payload itself was fine; otherwise it only
+ * counts as a failure, and the token is deactivated after repeated ones.
+ * Service-side errors (quota, outages, auth) say nothing about the token
+ * and are ignored. Updates run in bounded IN-list chunks.
+ */
+@Component
+@Slf4j
+public class DeviceTokenPruner {
+
+    static final int UPDATE_CHUNK = 500;
+
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final int maxFailures;
+
+    public DeviceTokenPruner(DeviceTokenRepository deviceTokenRepository,
+                             @Value("${notifications.device-tokens.max-failures:5}") int maxFailures) {
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.maxFailures = maxFailures;
+    }
+
+    public void record(FcmSendReport report) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean payloadAccepted = report.successCount() > 0;
+        List<String> dead = new ArrayList<>();
+        List<String> failing = new ArrayList<>();
+        for (FcmSendReport.Failure failure : report.failures()) {
+            MessagingErrorCode errorCode = failure.errorCode();
+            if (errorCode == MessagingErrorCode.UNREGISTERED || errorCode == MessagingErrorCode.SENDER_ID_MISMATCH
+                    || (errorCode == MessagingErrorCode.INVALID_ARGUMENT && payloadAccepted)) {
+                dead.add(failure.token());
+            } else if (errorCode == MessagingErrorCode.INVALID_ARGUMENT) {
+                failing.add(failure.token());
+            }
+        }
+
+        try {
+            inChunks(report.delivered(), chunk -> deviceTokenRepository.recordSuccess(chunk, now));
+            inChunks(failing, deviceTokenRepository::recordFailure);
+            int deactivated = inChunks(dead, chunk -> deviceTokenRepository.deactivate(chunk, now))
+                    + inChunks(failing, chunk -> deviceTokenRepository.deactivateFailing(chunk, maxFailures, now));
+            if (deactivated > 0) {
+                log.info("Deactivated {} dead device tokens", deactivated);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to record FCM results for {} device tokens",
+                    report.successCount() + report.failureCount(), ex);
+        }
+    }
+
+    private static int inChunks(List<String> tokens, ToIntFunction<List<String>> update) {
+        int updated = 0;
+        for (int from = 0; from < tokens.size(); from += UPDATE_CHUNK) {
+            updated += update.applyAsInt(tokens.subList(from, Math.min(from + UPDATE_CHUNK, tokens.size())));
+        }
+        return updated;
+    }
+}
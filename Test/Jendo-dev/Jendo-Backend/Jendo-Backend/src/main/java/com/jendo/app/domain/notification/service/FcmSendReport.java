@@ -0,0 +1,55 @@
+package com.jendo.app.domain.notification.service;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-token outcome of one FCM send: the tokens that accepted the message
+ * and, for the rest, the FCM error code ({@code null} when FCM gave none).
+ */
+public record FcmSendReport(List<String> delivered, List<Failure> failures) {
+
+    // Errors from FCM itself or our credentials rather than the token; null is a whole-batch failure
+    private static final Set<MessagingErrorCode> RETRYABLE = EnumSet.of(
+            MessagingErrorCode.UNAVAILABLE, MessagingErrorCode.INTERNAL,
+            MessagingErrorCode.QUOTA_EXCEEDED, MessagingErrorCode.THIRD_PARTY_AUTH_ERROR);
+
+    public record Failure(String token, MessagingErrorCode errorCode, String message) {
+
+        public boolean isRetryable() {
+            return errorCode == null || RETRYABLE.contains(errorCode);
+        }
+    }
+
+    public static FcmSendReport empty() {
+        return new FcmSendReport(List.of(), List.of());
+    }
+
+    public int successCount() {
+        return delivered.size();
+    }
+
+    public int failureCount() {
+        return failures.size();
+    }
+
+    /**
+     * True when nothing was delivered and at least one token failed for a
+     * reason that may clear up, so sending again later can still reach it.
+     */
+    public boolean shouldRetry() {
+        return delivered.isEmpty() && failures.stream().anyMatch(Failure::isRetryable);
+    }
+
+    FcmSendReport merge(FcmSendReport other) {
+        List<String> allDelivered = new ArrayList<>(delivered);
+        allDelivered.addAll(other.delivered());
+        List<Failure> allFailures = new ArrayList<>(failures);
+        allFailures.addAll(other.failures());
+        return new FcmSendReport(List.copyOf(allDelivered), List.copyOf(allFailures));
+    }
+}
@@ -1,80 +1,219 @@
 package com.jendo.app.domain.notification.service;
 
 import com.google.firebase.messaging.*;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Sends FCM notifications in batches. The notification, Android and APNs
+ * parts are built once per send and shared by every token; tokens go out in
+ * chunks of up to {@value #FCM_MAX_BATCH} through {@code sendEachForMulticast}
+ * on a dedicated pool, and a semaphore bounds how many batches are in flight
+ * so a broadcast cannot swamp FCM or the pool. Results are mapped back to
+ * their tokens and handed to the {@link DeviceTokenPruner}.
+ */
 @Service
 @Slf4j
 public class FirebaseNotificationService {
 
-    public void sendToTokens(List<String> tokens, String title, String body, Map<String, String> data) {
-        if (tokens == null || tokens.isEmpty()) {
-            log.warn("No tokens provided for notification");
-            return;
+    static final int FCM_MAX_BATCH = 500;
+
+    private final Supplier<FirebaseMessaging> messaging;
+    private final Consumer<FcmSendReport> onReport;
+    private final int batchSize;
+    private final Semaphore inFlightBatches;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public FirebaseNotificationService(DeviceTokenPruner deviceTokenPruner,
+                                       @Value("${notifications.fcm.batch-size:500}") int batchSize,
+                                       @Value("${notifications.fcm.max-in-flight-batches:4}") int maxInFlightBatches) {
+        this(FirebaseMessaging::getInstance, deviceTokenPruner::record, batchSize, maxInFlightBatches);
+    }
+
+    FirebaseNotificationService(Supplier<FirebaseMessaging> messaging, Consumer<FcmSendReport> onReport,
+                                int batchSize, int maxInFlightBatches) {
+        this.messaging = messaging;
+        this.onReport = onReport;
+        this.batchSize = Math.max(1, Math.min(FCM_MAX_BATCH, batchSize));
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        AtomicInteger counter = new AtomicInteger();
+        // Never more queued than permits, so execute() cannot be rejected
+        this.executor = new ThreadPoolExecutor(maxInFlightBatches, maxInFlightBatches, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxInFlightBatches),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fcm-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends the notification to every token and waits for all batches.
+     */
+    public FcmSendReport sendToTokens(List<String> tokens, String title, String body, Map<String, String> data) {
+        return sendToTokensAsync(tokens, title, body, data).join();
+    }
+
+    /**
+     * Sends the notification to every token. Blocks only while the maximum
+     * number of batches is already in flight; the future completes with the
+     * merged per-token report and never completes exceptionally.
+     */
+    public CompletableFuture<FcmSendReport> sendToTokensAsync(List<String> tokens, String title, String body,
+                                                              Map<String, String> data) {
+        List<String> validTokens = tokens == null ? List.of() : tokens.stream()
+                .filter(t -> t != null && !t.trim().isEmpty())
+                .distinct()
+                .toList();
+        if (validTokens.isEmpty()) {
+            log.warn("No valid tokens provided for notification");
+            return CompletableFuture.completedFuture(FcmSendReport.empty());
         }
 
+        log.info("Sending FCM notification to {} tokens in batches of {}", validTokens.size(), batchSize);
+        Template template = new Template(title, body, data);
+
+        List<CompletableFuture<FcmSendReport>> batches = new ArrayList<>();
+        for (int from = 0; from < validTokens.size(); from += batchSize) {
+            List<String> chunk = validTokens.subList(from, Math.min(from + batchSize, validTokens.size()));
+            batches.add(submit(template, chunk));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    FcmSendReport report = batches.stream()
+                            .map(CompletableFuture::join)
+                            .reduce(FcmSendReport.empty(), FcmSendReport::merge);
+                    log.info("✅ FCM sent: success={}, failure={}", report.successCount(), report.failureCount());
+                    onReport.accept(report);
+                    return report;
+                });
+    }
+
+    private CompletableFuture<FcmSendReport> submit(Template template, List<String> chunk) {
         try {
-            // Filter valid tokens
-            tokens = tokens.stream()
-                    .filter(t -> t != null && !t.trim().isEmpty())
-                    .toList();
-
-            if (tokens.isEmpty()) {
-                log.warn("No valid tokens after filtering");
-                return;
+            inFlightBatches.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(failed(chunk, null, "Interrupted before sending"));
+        }
+        CompletableFuture<FcmSendReport> batch = new CompletableFuture<>();
+        executor.execute(() -> {
+            FcmSendReport report;
+            try {
+                report = sendBatch(template, chunk);
+            } catch (RuntimeException ex) {
+                log.error("❌ Unexpected error sending FCM batch of {}", chunk.size(), ex);
+                report = failed(chunk, null, ex.getMessage());
+            } finally {
+                inFlightBatches.release();
             }
+            // Completed after the permit is freed; the report handling runs on this thread
+            batch.complete(report);
+        });
+        return batch;
+    }
 
-            log.info("Sending FCM notification to {} tokens", tokens.size());
-
-            int successCount = 0;
-            int failureCount = 0;
-
-            // ✅ Send to each token individually (avoids /batch endpoint)
-            for (String token : tokens) {
-                try {
-                    Message message = Message.builder()
-                            .setToken(token)
-                            .setNotification(Notification.builder()
-                                    .setTitle(title)
-                                    .setBody(body)
-                                    .build())
-                            .putAllData(data == null ? Map.of() : data)
-                            .setAndroidConfig(AndroidConfig.builder()
-                                    .setPriority(AndroidConfig.Priority.HIGH)
-                                    .setNotification(AndroidNotification.builder()
-                                            .setSound("default")
-                                            .setChannelId("default")
-                                            .build())
-                                    .build())
-                            .setApnsConfig(ApnsConfig.builder()
-                                    .setAps(Aps.builder()
-                                            .setSound("default")
-                                            .setBadge(1)
-                                            .build())
-                                    .build())
-                            .build();
-
-                    // ✅ Use send() instead of sendMulticast()
-                    String response = FirebaseMessaging.getInstance().send(message);
-                    successCount++;
-                    log.debug("Sent to token successfully: {}", response);
-
-                } catch (FirebaseMessagingException e) {
-                    failureCount++;
-                    log.error("Failed to send to token: {} - Error: {}",
-                            token.substring(0, Math.min(20, token.length())) + "...",
-                            e.getMessage());
-                }
+    private FcmSendReport sendBatch(Template template, List<String> chunk) {
+        BatchResponse response;
+        try {
+            response = messaging.get().sendEachForMulticast(template.forTokens(chunk));
+        } catch (FirebaseMessagingException e) {
+            log.error("FCM batch of {} failed - Error: {}", chunk.size(), e.getMessage());
+            return failed(chunk, e.getMessagingErrorCode(), e.getMessage());
+        }
+
+        // Responses come back in the order the tokens were added
+        List<String> delivered = new ArrayList<>(response.getSuccessCount());
+        List<FcmSendReport.Failure> failures = new ArrayList<>(response.getFailureCount());
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            String token = chunk.get(i);
+            SendResponse result = responses.get(i);
+            if (result.isSuccessful()) {
+                delivered.add(token);
+            } else {
+                FirebaseMessagingException e = result.getException();
+                log.debug("Failed to send to token: {} - Error: {}", abbreviate(token), e != null ? e.getMessage() : "unknown");
+                failures.add(new FcmSendReport.Failure(token,
+                        e != null ? e.getMessagingErrorCode() : null,
+                        e != null ? e.getMessage() : null));
             }
+        }
+        return new FcmSendReport(delivered, failures);
+    }
 
-            log.info("✅ FCM sent: success={}, failure={}", successCount, failureCount);
+    private static FcmSendReport failed(List<String> chunk, MessagingErrorCode errorCode, String message) {
+        return new FcmSendReport(List.of(), chunk.stream()
+                .map(token -> new FcmSendReport.Failure(token, errorCode, message))
+                .toList());
+    }
+
+    private static String abbreviate(String token) {
+        return token.substring(0, Math.min(20, token.length())) + "...";
+    }
+
+    /**
+     * The parts of the message that are the same for every recipient.
+     */
+    private static final class Template {
+
+        private final Notification notification;
+        private final Map<String, String> data;
+        private final AndroidConfig androidConfig;
+        private final ApnsConfig apnsConfig;
+
+        private Template(String title, String body, Map<String, String> data) {
+            this.notification = Notification.builder()
+                    .setTitle(title)
+                    .setBody(body)
+                    .build();
+            this.data = data == null ? Map.of() : data;
+            this.androidConfig = AndroidConfig.builder()
+                    .setPriority(AndroidConfig.Priority.HIGH)
+                    .setNotification(AndroidNotification.builder()
+                            .setSound("default")
+                            .setChannelId("default")
+                            .build())
+                    .build();
+            this.apnsConfig = ApnsConfig.builder()
+                    .setAps(Aps.builder()
+                            .setSound("default")
+                            .setBadge(1)
+                            .build())
+                    .build();
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Unexpected error sending FCM notification", e);
+        private MulticastMessage forTokens(List<String> tokens) {
+            return MulticastMessage.builder()
+                    .addAllTokens(tokens)
+                    .setNotification(notification)
+                    .putAllData(data)
+                    .setAndroidConfig(androidConfig)
+                    .setApnsConfig(apnsConfig)
+                    .build();
         }
     }
-}
\ No newline at end of file
+}
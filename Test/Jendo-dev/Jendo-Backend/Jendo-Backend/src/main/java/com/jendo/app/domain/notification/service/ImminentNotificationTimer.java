@@ -0,0 +1,181 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.dto.DueNotification;
+import com.jendo.app.domain.notification.event.ScheduledNotificationsChangedEvent;
+import com.jendo.app.domain.notification.repository.ScheduledNotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Fires scheduled notifications due within the look-ahead horizon at their
+ * exact time instead of on the next dispatcher poll. The horizon is loaded
+ * by a periodic query and kept current from
+ * {@link ScheduledNotificationsChangedEvent}s; the database stays the
+ * source of truth, and a fired notification still goes through the
+ * dispatcher's claim, so several instances firing the same row send it once.
+ * Replaced and cancelled entries stay in the queue until their time and are
+ * skipped when they fire.
+ */
+@Component
+@Slf4j
+public class ImminentNotificationTimer {
+
+    // A timer fires on System.nanoTime(); allow for drift against the wall clock
+    static final Duration FIRE_TOLERANCE = Duration.ofSeconds(1);
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final NotificationSchedulerService dispatcher;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final int maxEntries;
+    private final int maxAttempts;
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Thread worker;
+
+    public ImminentNotificationTimer(ScheduledNotificationRepository scheduledNotificationRepository,
+                                     NotificationSchedulerService dispatcher,
+                                     @Value("${notifications.timer.enabled:true}") boolean enabled,
+                                     @Value("${notifications.timer.horizon-minutes:10}") long horizonMinutes,
+                                     @Value("${notifications.timer.max-entries:10000}") int maxEntries,
+                                     @Value("${notifications.dispatcher.max-attempts:5}") int maxAttempts) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.maxEntries = maxEntries;
+        this.maxAttempts = maxAttempts;
+        this.worker = new Thread(this::fireLoop, "notification-timer");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.interrupt();
+    }
+
+    /**
+     * Reloads the horizon. Runs more often than the horizon is long, so a
+     * notification is always loaded before it is due.
+     */
+    @Scheduled(fixedDelayString = "${notifications.timer.refresh-ms:300000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Rows parked by a retry or held by a live lease are left to the dispatcher poll
+            LocalDateTime now = LocalDateTime.now();
+            List<DueNotification> due = scheduledNotificationRepository.findDueBefore(
+                    now, now.plus(horizon), maxAttempts, PageRequest.of(0, maxEntries));
+            if (due.size() >= maxEntries) {
+                log.warn("Notification timer is full at {} entries; later rows wait for the dispatcher poll", maxEntries);
+            }
+            Set<Long> ids = due.stream().map(DueNotification::id).collect(Collectors.toSet());
+            entries.keySet().retainAll(ids);
+            due.forEach(this::schedule);
+            log.debug("Notification timer holds {} notifications due in the next {} minutes",
+                    entries.size(), horizon.toMinutes());
+        } catch (Exception ex) {
+            log.warn("Failed to load upcoming scheduled notifications", ex);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduledNotificationsChanged(ScheduledNotificationsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        entries.values().removeIf(entry -> event.appointmentId().equals(entry.appointmentId()));
+        try {
+            scheduledNotificationRepository
+                    .findDueBeforeForAppointment(event.appointmentId(), LocalDateTime.now().plus(horizon))
+                    .forEach(this::schedule);
+        } catch (Exception ex) {
+            // The next refresh picks the rows up
+            log.warn("Failed to reload scheduled notifications for appointment {}", event.appointmentId(), ex);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void schedule(DueNotification notification) {
+        long delayNanos = Duration.between(LocalDateTime.now(), notification.scheduledFor()).toNanos();
+        if (delayNanos > horizon.toNanos()) {
+            return;
+        }
+        Entry previous = entries.get(notification.id());
+        if (previous != null && previous.scheduledFor().equals(notification.scheduledFor())) {
+            return;
+        }
+        if (previous == null && entries.size() >= maxEntries) {
+            // Over the cap the poll sends it, just less punctually
+            return;
+        }
+        Entry entry = new Entry(notification.id(), notification.appointmentId(), notification.scheduledFor(),
+                System.nanoTime() + delayNanos);
+        entries.put(notification.id(), entry);
+        queue.add(entry);
+    }
+
+    void fireLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Entry> fired = new ArrayList<>();
+                fired.add(queue.take());
+                queue.drainTo(fired);
+                List<Long> ids = fired.stream()
+                        .filter(entry -> entries.remove(entry.id(), entry))
+                        .map(Entry::id)
+                        .toList();
+                if (!ids.isEmpty()) {
+                    dispatcher.sendDue(ids, FIRE_TOLERANCE);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                log.warn("Failed to send scheduled notifications fired by the timer", ex);
+            }
+        }
+    }
+
+    private record Entry(Long id, Long appointmentId, LocalDateTime scheduledFor, long dueAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtNanos, ((Entry) other).dueAtNanos);
+        }
+    }
+}
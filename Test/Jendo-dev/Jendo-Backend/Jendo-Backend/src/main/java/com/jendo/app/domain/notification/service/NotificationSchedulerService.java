@@ -1,69 +1,197 @@
 package com.jendo.app.domain.notification.service;
 
-import com.jendo.app.domain.notification.entity.ScheduledNotification;
+import com.jendo.app.domain.notification.dto.ClaimedNotification;
 import com.jendo.app.domain.notification.repository.DeviceTokenRepository;
 import com.jendo.app.domain.notification.repository.ScheduledNotificationRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
 
+/**
+ * Sends due scheduled notifications. Work is shared between instances by
+ * leasing: each instance claims a small batch in a short transaction
+ * ({@code FOR UPDATE SKIP LOCKED}), then sends it with no transaction open
+ * and marks rows sent one by one. A crashed instance leaves only its
+ * current batch leased, which another instance picks up once the lease
+ * runs out. A send that reached no device for a retryable reason (FCM
+ * unavailable, quota, credentials) is retried after a delay, up to a fixed
+ * number of attempts; after the last one the row is marked failed and left
+ * for archival. Notifications due within the next few minutes are also
+ * fired on time by the {@link ImminentNotificationTimer}; the poll catches
+ * up on retries, expired leases and anything the timer missed.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationSchedulerService {
 
     private final ScheduledNotificationRepository scheduledNotificationRepository;
     private final DeviceTokenRepository deviceTokenRepository;
     private final FirebaseNotificationService firebaseNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final int maxAttempts;
 
-    @Scheduled(fixedRate = 60000) // Run every minute
-    @Transactional
+    public NotificationSchedulerService(ScheduledNotificationRepository scheduledNotificationRepository,
+                                        DeviceTokenRepository deviceTokenRepository,
+                                        FirebaseNotificationService firebaseNotificationService,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${notifications.dispatcher.batch-size:50}") int batchSize,
+                                        @Value("${notifications.dispatcher.lease-seconds:120}") long leaseSeconds,
+                                        @Value("${notifications.dispatcher.retry-delay-seconds:300}") long retryDelaySeconds,
+                                        @Value("${notifications.dispatcher.max-attempts:5}") int maxAttempts) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.firebaseNotificationService = firebaseNotificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Polls less often while the timer fires imminent rows; at the full rate when it is off
+    @Scheduled(fixedRateString = "#{${notifications.timer.enabled:true}"
+            + " ? ${notifications.dispatcher.backstop-poll-interval-ms:300000}"
+            + " : ${notifications.dispatcher.poll-interval-ms:60000}}")
     public void sendPendingNotifications() {
-        LocalDateTime now = LocalDateTime.now();
-        List<ScheduledNotification> pendingNotifications =
-                scheduledNotificationRepository.findByScheduledForBeforeAndSentFalse(now);
+        failExhausted();
+        int sent = 0;
+        int claimedCount;
+        do {
+            LocalDateTime leaseUntil = LocalDateTime.now().plus(lease);
+            List<ClaimedNotification> claimed;
+            try {
+                claimed = claimBatch(leaseUntil,
+                        () -> scheduledNotificationRepository.lockClaimable(LocalDateTime.now(), maxAttempts, batchSize));
+            } catch (Exception e) {
+                log.error("Failed to claim scheduled notifications", e);
+                return;
+            }
+            claimedCount = claimed.size();
+            sent += dispatch(claimed, leaseUntil);
+        } while (claimedCount == batchSize);
+
+        if (sent > 0) {
+            log.info("Sent {} scheduled notifications", sent);
+        }
+    }
+
+    /**
+     * Sends the given notifications if they are due and no other instance
+     * holds them; rows already sent or claimed elsewhere are skipped.
+     * {@code tolerance} allows for a timer firing slightly ahead of the
+     * wall clock.
+     */
+    public int sendDue(List<Long> ids, Duration tolerance) {
+        int sent = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            LocalDateTime leaseUntil = LocalDateTime.now().plus(lease);
+            sent += dispatch(claimBatch(leaseUntil, () -> scheduledNotificationRepository.lockClaimableIn(
+                    chunk, LocalDateTime.now().plus(tolerance), maxAttempts)), leaseUntil);
+        }
+        return sent;
+    }
 
-        log.info("Found {} pending notifications to send", pendingNotifications.size());
+    private List<ClaimedNotification> claimBatch(LocalDateTime leaseUntil, Supplier<List<Long>> lock) {
+        List<ClaimedNotification> claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = lock.get();
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            scheduledNotificationRepository.claim(ids, instanceId, leaseUntil);
+            return scheduledNotificationRepository.findClaimed(ids);
+        });
+        return claimed != null ? claimed : List.of();
+    }
 
-        for (ScheduledNotification notification : pendingNotifications) {
+    private int dispatch(List<ClaimedNotification> claimed, LocalDateTime leaseUntil) {
+        int sent = 0;
+        for (ClaimedNotification notification : claimed) {
+            // Past the lease another instance may own the rest; it is left to be re-claimed
+            if (!LocalDateTime.now().isBefore(leaseUntil)) {
+                log.warn("Lease on scheduled notifications expired mid-batch, leaving {} for re-claim",
+                        claimed.size() - sent);
+                break;
+            }
             try {
-                sendScheduledNotification(notification);
-                notification.setSent(true);
-                notification.setSentAt(LocalDateTime.now());
-                scheduledNotificationRepository.save(notification);
+                FcmSendReport report = sendScheduledNotification(notification);
+                if (report.shouldRetry()) {
+                    log.warn("Notification ID: {} reached no device ({} retryable failures) on attempt {} of {}",
+                            notification.id(), report.failureCount(), notification.attempts(), maxAttempts);
+                    retryLater(notification);
+                    continue;
+                }
+                scheduledNotificationRepository.markSent(notification.id(), instanceId, LocalDateTime.now());
+                sent++;
             } catch (Exception e) {
-                log.error("Error sending notification ID: {}", notification.getId(), e);
+                log.error("Error sending notification ID: {}", notification.id(), e);
+                retryLater(notification);
+            }
+        }
+        return sent;
+    }
+
+    private void retryLater(ClaimedNotification notification) {
+        try {
+            if (notification.attempts() != null && notification.attempts() >= maxAttempts) {
+                log.warn("Giving up on notification ID: {} after {} attempts, marking it failed",
+                        notification.id(), notification.attempts());
+                scheduledNotificationRepository.markFailed(notification.id(), instanceId, LocalDateTime.now());
+                return;
+            }
+            scheduledNotificationRepository.retryAfter(notification.id(), instanceId, LocalDateTime.now().plus(retryDelay));
+        } catch (Exception e) {
+            log.warn("Failed to reschedule notification ID: {}; it is retried when its lease expires",
+                    notification.id(), e);
+        }
+    }
+
+    // Rows whose last attempt was claimed by an instance that never finished it
+    private void failExhausted() {
+        try {
+            int failed = scheduledNotificationRepository.failExhausted(maxAttempts, LocalDateTime.now());
+            if (failed > 0) {
+                log.warn("Marked {} scheduled notifications failed after {} unfinished attempts", failed, maxAttempts);
             }
+        } catch (Exception e) {
+            log.warn("Failed to mark exhausted scheduled notifications failed", e);
         }
     }
 
-    private void sendScheduledNotification(ScheduledNotification notification) {
-        List<String> tokens = deviceTokenRepository.findActiveTokensByUserId(notification.getUserId());
+    private FcmSendReport sendScheduledNotification(ClaimedNotification notification) {
+        List<String> tokens = deviceTokenRepository.findActiveTokensByUserId(notification.userId());
         if (tokens.isEmpty()) {
-            log.warn("No active device tokens found for user: {}", notification.getUserId());
-            return;
+            log.warn("No active device tokens found for user: {}", notification.userId());
+            return FcmSendReport.empty();
         }
 
         Map<String, String> data = new HashMap<>();
-        data.put("type", notification.getType());
-        data.put("notificationId", notification.getId().toString());
+        data.put("type", notification.type());
+        data.put("notificationId", notification.id().toString());
 
-        if (notification.getAppointment() != null) {
-            data.put("appointmentId", notification.getAppointment().getId().toString());
+        if (notification.appointmentId() != null) {
+            data.put("appointmentId", notification.appointmentId().toString());
         }
 
-        firebaseNotificationService.sendToTokens(
+        return firebaseNotificationService.sendToTokens(
                 tokens,
-                notification.getTitle(),
-                notification.getMessage(),
+                notification.title(),
+                notification.message(),
                 data
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.repository.ScheduledNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves scheduled notifications sent, or failed for good, more than the
+ * retention period ago into scheduled_notifications_history, in bounded batches with a pause
+ * between them, so the live table only holds pending and recent rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledNotificationArchiveJob {
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+
+    @Value("${notifications.archive.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${notifications.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${notifications.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Scheduled(cron = "0 40 3 * * *", zone = "Asia/Colombo")
+    public void archiveFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(retentionDays);
+        long startedAt = System.nanoTime();
+        long archived = 0;
+        int batches = 0;
+
+        try {
+            while (true) {
+                int moved = scheduledNotificationRepository.archiveFinishedBatch(cutoff, batchSize, now);
+                archived += moved;
+                batches++;
+                if (moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Scheduled notification archival interrupted after archiving {} rows", archived);
+            return;
+        } catch (Exception ex) {
+            log.error("Failed to archive finished scheduled notifications after archiving {} rows", archived, ex);
+            return;
+        }
+
+        log.info("Scheduled notification archival moved {} rows sent or failed before {} in {} batches, {} ms",
+                archived, cutoff, batches, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jendo.app.domain.wellnessrecommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyTipGenerationSummary {
+    private LocalDateTime windowStart;
+    private int totalUsers;
+    private int generated;
+    private int fallbacks;
+    private int skippedExisting;
+    private int skippedNoTest;
+    private int failed;
+    private long durationMs;
+    private double usersPerSecond;
+    private long groqCalls;
+    private long groqRetries;
+    private long deduplicated;
+    private double groqLatencyMeanMs;
+    private long groqLatencyP50Ms;
+    private long groqLatencyP95Ms;
+    private long groqLatencyMaxMs;
+}
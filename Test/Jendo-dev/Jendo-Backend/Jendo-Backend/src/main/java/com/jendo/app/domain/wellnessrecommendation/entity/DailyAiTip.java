@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,7 +16,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "daily_ai_tips")
+@Table(name = "daily_ai_tips", indexes = {
+        @Index(name = "idx_daily_ai_tips_window_end", columnList = "window_end"),
+        @Index(name = "idx_daily_ai_tips_user_window", columnList = "user_id, window_start, window_end")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -35,9 +39,16 @@ public class DailyAiTip {
     @Column(name = "window_end", nullable = false)
     private LocalDateTime windowEnd;
 
-    @Column(name = "payload_json", nullable = false, columnDefinition = "TEXT")
+    /**
+     * Legacy pretty-printed JSON payload; only set on rows written before the
+     * binary {@link #payload} column existed.
+     */
+    @Column(name = "payload_json", columnDefinition = "TEXT")
     private String payloadJson;
 
+    @Column(name = "payload", columnDefinition = "BYTEA")
+    private byte[] payload;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
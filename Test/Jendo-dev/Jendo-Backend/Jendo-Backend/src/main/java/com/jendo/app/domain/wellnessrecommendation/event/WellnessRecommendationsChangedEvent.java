@@ -0,0 +1,4 @@
+package com.jendo.app.domain.wellnessrecommendation.event;
+
+public record WellnessRecommendationsChangedEvent(Long recommendationId) {
+}
@@ -0,0 +1,25 @@
+package com.jendo.app.domain.wellnessrecommendation.mapper;
+
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.WellnessRecommendation;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WellnessRecommendationMapper {
+
+    public WellnessRecommendationDto toDto(WellnessRecommendation entity) {
+        return WellnessRecommendationDto.builder()
+                .id(entity.getId())
+                .title(entity.getTitle())
+                .description(entity.getDescription())
+                .longDescription(entity.getDescription())
+                .category(entity.getCategory())
+                .riskLevel(entity.getRiskLevel())
+                .type(entity.getType())
+                .priority(entity.getPriority())
+                .isActive(entity.getIsActive())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
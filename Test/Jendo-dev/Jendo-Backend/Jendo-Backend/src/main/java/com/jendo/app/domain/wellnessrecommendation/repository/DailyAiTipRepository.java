@@ -9,6 +9,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,8 +22,13 @@ public interface DailyAiTipRepository extends JpaRepository<DailyAiTip, Long> {
             LocalDateTime end
     );
 
+    @Query("select t.userId from DailyAiTip t where t.userId in :userIds and t.windowStart <= :at and t.windowEnd >= :at")
+    List<Long> findUserIdsWithTipAt(@Param("userIds") Collection<Long> userIds, @Param("at") LocalDateTime at);
+
     @Modifying
     @Transactional
-    @Query("delete from DailyAiTip t where t.windowEnd < :now")
-    void deleteExpired(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM daily_ai_tips WHERE id IN (" +
+            "SELECT id FROM daily_ai_tips WHERE window_end < :now ORDER BY window_end LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
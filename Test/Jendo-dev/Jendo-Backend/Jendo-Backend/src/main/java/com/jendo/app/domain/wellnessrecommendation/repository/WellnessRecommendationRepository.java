@@ -20,4 +20,6 @@ public interface WellnessRecommendationRepository extends JpaRepository<Wellness
     Page<WellnessRecommendation> findByRiskLevel(String riskLevel, Pageable pageable);
     
     Page<WellnessRecommendation> findByIsActiveTrue(Pageable pageable);
+    
+    List<WellnessRecommendation> findByIsActiveTrueOrderByPriorityAscIdAsc();
 }
@@ -0,0 +1,115 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jendo.app.common.dto.CacheStatsDto;
+import com.jendo.app.domain.jendotest.event.JendoTestCreatedEvent;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user cache of the materialized daily tips, keyed by user and 06:00
+ * window. Entries expire at the end of their window and are dropped as soon as
+ * the user records a new Jendo test, so the hot path of getDailyAiTips never
+ * touches the database or Jackson.
+ */
+@Component
+@Slf4j
+public class DailyAiTipCache {
+
+    private static final long DTO_OVERHEAD_BYTES = 96;
+    private static final long CATEGORY_OVERHEAD_BYTES = 64;
+
+    private final Cache<Key, Entry> cache;
+
+    public DailyAiTipCache(@Value("${wellness.daily-tips.cache.max-entries:10000}") long maxEntries,
+                           @Value("${wellness.daily-tips.cache.max-memory-mb:64}") long maxMemoryMb) {
+        long maxBytes = maxMemoryMb * 1024 * 1024;
+        // Caffeine allows a single bound, so every entry weighs at least maxBytes / maxEntries
+        // which caps the entry count as well as the estimated footprint.
+        long minEntryWeight = Math.max(1, maxBytes / Math.max(1, maxEntries));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, Math.max(minEntryWeight, entry.estimatedBytes())))
+                .expireAfter(new WindowExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public Map<String, List<WellnessRecommendationDto>> get(Long userId, DailyTipWindow window) {
+        Entry entry = cache.getIfPresent(new Key(userId, window.start()));
+        return entry != null ? entry.tips() : null;
+    }
+
+    public void put(Long userId, DailyTipWindow window, Map<String, List<WellnessRecommendationDto>> tips) {
+        if (!LocalDateTime.now().isBefore(window.end())) {
+            return;
+        }
+        Map<String, List<WellnessRecommendationDto>> copy = new HashMap<>();
+        tips.forEach((category, items) -> copy.put(category, List.copyOf(items)));
+        cache.put(new Key(userId, window.start()), new Entry(window.end(), Map.copyOf(copy), estimateBytes(copy)));
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(new Key(userId, DailyTipWindow.containing(LocalDateTime.now()).start()));
+    }
+
+    public CacheStatsDto stats() {
+        return CacheStatsDto.of("daily-ai-tips", cache);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJendoTestCreated(JendoTestCreatedEvent event) {
+        log.debug("Evicting cached daily AI tips for user {} after new Jendo test {}", event.userId(), event.testId());
+        evict(event.userId());
+    }
+
+    private static long estimateBytes(Map<String, List<WellnessRecommendationDto>> tips) {
+        long bytes = 0;
+        for (Map.Entry<String, List<WellnessRecommendationDto>> category : tips.entrySet()) {
+            bytes += CATEGORY_OVERHEAD_BYTES + 2L * category.getKey().length();
+            for (WellnessRecommendationDto dto : category.getValue()) {
+                bytes += DTO_OVERHEAD_BYTES
+                        + 2L * (length(dto.getTitle()) + length(dto.getDescription()) + length(dto.getLongDescription())
+                        + length(dto.getCategory()) + length(dto.getRiskLevel()) + length(dto.getType()));
+            }
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private record Key(Long userId, LocalDateTime windowStart) { }
+
+    private record Entry(LocalDateTime expiresAt, Map<String, List<WellnessRecommendationDto>> tips, long estimatedBytes) { }
+
+    private static class WindowExpiry implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), entry.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
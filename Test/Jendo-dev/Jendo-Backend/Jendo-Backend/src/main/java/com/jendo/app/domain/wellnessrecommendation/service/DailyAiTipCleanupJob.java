@@ -3,11 +3,17 @@ package com.jendo.app.domain.wellnessrecommendation.service;
 import com.jendo.app.domain.wellnessrecommendation.repository.DailyAiTipRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
+/**
+ * Removes expired daily AI tips in bounded batches, each in its own short
+ * transaction, pausing between batches so the purge never holds long locks
+ * or competes with the morning read traffic.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -15,15 +21,39 @@ public class DailyAiTipCleanupJob {
 
     private final DailyAiTipRepository dailyAiTipRepository;
 
+    @Value("${wellness.daily-tips.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${wellness.daily-tips.purge.pause-ms:200}")
+    private long pauseMs;
+
     @Scheduled(cron = "0 5 6 * * *", zone = "Asia/Colombo")
     public void purgeExpired() {
         LocalDateTime now = LocalDateTime.now();
+        long startedAt = System.nanoTime();
+        long purged = 0;
+        int batches = 0;
+
         try {
-            dailyAiTipRepository.deleteExpired(now);
+            while (true) {
+                int deleted = dailyAiTipRepository.deleteExpiredBatch(now, batchSize);
+                purged += deleted;
+                batches++;
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Daily AI tips cleanup interrupted after purging {} rows", purged);
+            return;
         } catch (Exception ex) {
-            log.error("Failed to purge expired AI tips", ex);
+            log.error("Failed to purge expired AI tips after purging {} rows", purged, ex);
             return;
         }
-        log.info("Daily AI tips cleanup executed at {}", now);
+
+        log.info("Daily AI tips cleanup executed at {} - purged {} rows in {} batches, {} ms",
+                now, purged, batches, (System.nanoTime() - startedAt) / 1_000_000);
     }
 }
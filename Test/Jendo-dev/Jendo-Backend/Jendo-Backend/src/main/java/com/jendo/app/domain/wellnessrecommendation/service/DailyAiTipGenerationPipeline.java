@@ -0,0 +1,268 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.common.metrics.LatencyHistogram;
+import com.jendo.app.common.ratelimit.TokenBucket;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.domain.wellnessrecommendation.dto.DailyTipGenerationSummary;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import com.jendo.app.domain.wellnessrecommendation.repository.DailyAiTipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded-concurrency generation of the daily AI tips for every user.
+ * Users are streamed in keyset-ordered pages; existing tips and latest tests
+ * are prefetched for the whole page, the Groq calls fan out on a fixed worker
+ * pool throttled by a token bucket, and the results are written back with a
+ * single batched save. If that save fails, the page is saved again row by
+ * row, each in its own transaction, so one bad row only fails itself.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyAiTipGenerationPipeline {
+
+    private final UserRepository userRepository;
+    private final JendoTestRepository jendoTestRepository;
+    private final DailyAiTipRepository dailyAiTipRepository;
+    private final DailyAiTipGenerator generator;
+    private final DailyAiTipPayloadCodec payloadCodec;
+
+    @Value("${wellness.daily-tips.page-size:200}")
+    private int pageSize;
+
+    @Value("${wellness.daily-tips.concurrency:8}")
+    private int concurrency;
+
+    @Value("${wellness.daily-tips.rate-limit-per-second:2}")
+    private double rateLimitPerSecond;
+
+    @Value("${wellness.daily-tips.rate-limit-burst:4}")
+    private int rateLimitBurst;
+
+    @Value("${wellness.daily-tips.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${wellness.daily-tips.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    public DailyTipGenerationSummary run(DailyTipWindow window) {
+        long startedAt = System.nanoTime();
+        RunStats stats = new RunStats();
+        TokenBucket rateLimiter = new TokenBucket(rateLimitPerSecond, rateLimitBurst);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, workerThreadFactory());
+
+        try {
+            long lastUserId = 0L;
+            while (true) {
+                List<Long> userIds = userRepository.findIdsAfter(lastUserId, PageRequest.of(0, pageSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                lastUserId = userIds.get(userIds.size() - 1);
+                processPage(userIds, window, executor, rateLimiter, stats);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DailyTipGenerationSummary summary = stats.toSummary(window, System.nanoTime() - startedAt);
+        log.info("Daily tips generation summary - Total users: {}, Generated: {}, Fallbacks: {}, Skipped (existing): {}, Skipped (no test): {}, Failed: {}, Duration: {} ms, Throughput: {} users/s, Groq latency p50/p95/max: {}/{}/{} ms",
+                summary.getTotalUsers(), summary.getGenerated(), summary.getFallbacks(), summary.getSkippedExisting(),
+                summary.getSkippedNoTest(), summary.getFailed(), summary.getDurationMs(),
+                String.format("%.2f", summary.getUsersPerSecond()), summary.getGroqLatencyP50Ms(),
+                summary.getGroqLatencyP95Ms(), summary.getGroqLatencyMaxMs());
+        return summary;
+    }
+
+    private void processPage(List<Long> userIds, DailyTipWindow window, ExecutorService executor,
+                             TokenBucket rateLimiter, RunStats stats) {
+        Set<Long> usersWithTips = new HashSet<>(dailyAiTipRepository.findUserIdsWithTipAt(userIds, window.start()));
+        Map<Long, JendoTest> latestTests = new HashMap<>();
+        for (JendoTest test : jendoTestRepository.findLatestByUserIds(userIds)) {
+            latestTests.put(test.getUser().getId(), test);
+        }
+
+        List<CompletableFuture<DailyAiTip>> pending = new ArrayList<>();
+        for (Long userId : userIds) {
+            stats.totalUsers.incrementAndGet();
+
+            if (usersWithTips.contains(userId)) {
+                log.debug("User {} already has tips for current window, skipping", userId);
+                stats.skippedExisting.incrementAndGet();
+                continue;
+            }
+
+            JendoTest test = latestTests.get(userId);
+            if (test == null) {
+                log.debug("User {} has no Jendo test, skipping", userId);
+                stats.skippedNoTest.incrementAndGet();
+                continue;
+            }
+
+            pending.add(CompletableFuture.supplyAsync(
+                    () -> toEntity(userId, window, generateWithRetry(test, window, rateLimiter, stats)), executor)
+                    .exceptionally(ex -> {
+                        stats.failed.incrementAndGet();
+                        log.error("Failed to pre-generate AI tips for user {}", userId, ex);
+                        return null;
+                    }));
+        }
+
+        List<DailyAiTip> batch = pending.stream()
+                .map(CompletableFuture::join)
+                .filter(tip -> tip != null)
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            dailyAiTipRepository.saveAll(batch);
+            stats.generated.addAndGet(batch.size());
+        } catch (Exception ex) {
+            log.warn("Failed to persist batch of {} AI tips, retrying row by row", batch.size(), ex);
+            saveEach(batch, stats);
+        }
+    }
+
+    private void saveEach(List<DailyAiTip> batch, RunStats stats) {
+        for (DailyAiTip tip : batch) {
+            try {
+                // A fresh entity: the rolled-back batch may have left generated ids on the originals
+                dailyAiTipRepository.save(DailyAiTip.builder()
+                        .userId(tip.getUserId())
+                        .windowStart(tip.getWindowStart())
+                        .windowEnd(tip.getWindowEnd())
+                        .payload(tip.getPayload())
+                        .build());
+                stats.generated.incrementAndGet();
+            } catch (Exception ex) {
+                stats.failed.incrementAndGet();
+                log.error("Failed to persist AI tips for user {}", tip.getUserId(), ex);
+            }
+        }
+    }
+
+    private Map<String, List<WellnessRecommendationDto>> generateWithRetry(JendoTest test, DailyTipWindow window,
+                                                                           TokenBucket rateLimiter, RunStats stats) {
+        if (!generator.isConfigured()) {
+            stats.fallbacks.incrementAndGet();
+            return generator.fallbackByRisk(test.getRiskLevel());
+        }
+
+        Map<String, List<WellnessRecommendationDto>> shared = generator.cachedTips(test, window.start());
+        if (shared != null) {
+            stats.deduplicated.incrementAndGet();
+            return shared;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Groq rate limit", ex);
+            }
+
+            long callStarted = System.nanoTime();
+            stats.groqCalls.incrementAndGet();
+            try {
+                Map<String, List<WellnessRecommendationDto>> tips = generator.requestTips(test, window.start());
+                stats.groqLatency.recordSince(callStarted);
+                return tips;
+            } catch (Exception ex) {
+                stats.groqLatency.recordSince(callStarted);
+                if (attempt >= maxAttempts) {
+                    log.warn("Groq failed {} times for test {}, using static recommendations", attempt, test.getId());
+                    stats.fallbacks.incrementAndGet();
+                    return generator.fallbackByRisk(test.getRiskLevel());
+                }
+                stats.groqRetries.incrementAndGet();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long delay = retryBackoffMs << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during Groq retry backoff", ex);
+        }
+    }
+
+    private DailyAiTip toEntity(Long userId, DailyTipWindow window, Map<String, List<WellnessRecommendationDto>> payload) {
+        return DailyAiTip.builder()
+                .userId(userId)
+                .windowStart(window.start())
+                .windowEnd(window.end())
+                .payload(payloadCodec.encode(payload))
+                .build();
+    }
+
+    private ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "daily-tips-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class RunStats {
+        private final AtomicInteger totalUsers = new AtomicInteger();
+        private final AtomicInteger generated = new AtomicInteger();
+        private final AtomicInteger fallbacks = new AtomicInteger();
+        private final AtomicInteger skippedExisting = new AtomicInteger();
+        private final AtomicInteger skippedNoTest = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong groqCalls = new AtomicLong();
+        private final AtomicLong groqRetries = new AtomicLong();
+        private final AtomicLong deduplicated = new AtomicLong();
+        private final LatencyHistogram groqLatency = new LatencyHistogram();
+
+        private DailyTipGenerationSummary toSummary(DailyTipWindow window, long elapsedNanos) {
+            long durationMs = elapsedNanos / 1_000_000;
+            return DailyTipGenerationSummary.builder()
+                    .windowStart(window.start())
+                    .totalUsers(totalUsers.get())
+                    .generated(generated.get())
+                    .fallbacks(fallbacks.get())
+                    .skippedExisting(skippedExisting.get())
+                    .skippedNoTest(skippedNoTest.get())
+                    .failed(failed.get())
+                    .durationMs(durationMs)
+                    .usersPerSecond(durationMs == 0 ? totalUsers.get() : totalUsers.get() * 1000.0 / durationMs)
+                    .groqCalls(groqCalls.get())
+                    .groqRetries(groqRetries.get())
+                    .deduplicated(deduplicated.get())
+                    .groqLatencyMeanMs(groqLatency.meanMs())
+                    .groqLatencyP50Ms(groqLatency.percentileMs(50))
+                    .groqLatencyP95Ms(groqLatency.percentileMs(95))
+                    .groqLatencyMaxMs(groqLatency.maxMs())
+                    .build();
+        }
+    }
+}
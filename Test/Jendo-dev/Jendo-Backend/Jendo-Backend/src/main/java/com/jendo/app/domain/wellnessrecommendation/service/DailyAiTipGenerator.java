@@ -0,0 +1,253 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jendo.app.common.dto.CacheStatsDto;
+import com.jendo.app.common.http.LlmHttpClient;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Produces the per-category AI tips for a Jendo test via Groq, falling back to
+ * the static recommendations for the test's risk level.
+ * Responses are content-addressed by the fingerprint of the prompt inputs:
+ * users whose (optionally bucketed) vitals normalize to the same prompt share
+ * one Groq response per window, and concurrent requests for the same
+ * fingerprint wait on the call already in flight.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyAiTipGenerator {
+
+    private final WellnessRecommendationCatalog catalog;
+    private final ObjectMapper objectMapper;
+    private final LlmHttpClient llmHttpClient;
+    private final GroqTipResponseParser responseParser;
+
+    @Value("${groq.api.key:}")
+    private String groqApiKey;
+
+    @Value("${groq.api.url:https://api.groq.com/openai/v1/chat/completions}")
+    private String groqUrl;
+
+    @Value("${wellness.daily-tips.fingerprint.cache-size:5000}")
+    private long fingerprintCacheSize;
+
+    @Value("${wellness.daily-tips.fingerprint.bucketing-enabled:false}")
+    private boolean bucketingEnabled;
+
+    @Value("${wellness.daily-tips.fingerprint.score-step:5}")
+    private BigDecimal scoreStep;
+
+    @Value("${wellness.daily-tips.fingerprint.heart-rate-step:5}")
+    private int heartRateStep;
+
+    @Value("${wellness.daily-tips.fingerprint.blood-pressure-step:5}")
+    private int bloodPressureStep;
+
+    @Value("${wellness.daily-tips.fingerprint.spo2-step:1}")
+    private BigDecimal spo2Step;
+
+    @Value("${wellness.daily-tips.fingerprint.vascular-risk-step:0.05}")
+    private BigDecimal vascularRiskStep;
+
+    private TipPromptInputs.Bucketing bucketing;
+    private Cache<String, Map<String, List<WellnessRecommendationDto>>> responsesByFingerprint;
+    private final ConcurrentMap<String, CompletableFuture<Map<String, List<WellnessRecommendationDto>>>> inFlight = new ConcurrentHashMap<>();
+
+    private static final String GROQ_MODEL = "llama-3.3-70b-versatile";
+
+    @PostConstruct
+    void init() {
+        bucketing = bucketingEnabled
+                ? new TipPromptInputs.Bucketing(scoreStep, heartRateStep, bloodPressureStep, spo2Step, vascularRiskStep)
+                : TipPromptInputs.Bucketing.NONE;
+        responsesByFingerprint = Caffeine.newBuilder()
+                .maximumSize(fingerprintCacheSize)
+                .expireAfterWrite(Duration.ofDays(1))
+                .recordStats()
+                .build();
+    }
+
+    public boolean isConfigured() {
+        return StringUtils.hasText(groqApiKey);
+    }
+
+    public Map<String, List<WellnessRecommendationDto>> generate(JendoTest test, LocalDateTime windowStart) {
+        log.debug("generateAiTips called for test ID: {}, risk level: {}", test.getId(), test.getRiskLevel());
+
+        if (!isConfigured()) {
+            log.warn("Groq API key is missing; falling back to static recommendations");
+            return fallbackByRisk(test.getRiskLevel());
+        }
+
+        try {
+            return requestTips(test, windowStart);
+        } catch (Exception ex) {
+            log.error("Groq API invocation failed", ex);
+            return fallbackByRisk(test.getRiskLevel());
+        }
+    }
+
+    /**
+     * Tips already generated this window for the same prompt fingerprint, or
+     * {@code null} when a Groq call would be needed.
+     */
+    public Map<String, List<WellnessRecommendationDto>> cachedTips(JendoTest test, LocalDateTime windowStart) {
+        return responsesByFingerprint.getIfPresent(inputsFor(test, windowStart).fingerprint());
+    }
+
+    /**
+     * Groq tips without fallback; any failure is thrown so callers such as the
+     * batch pipeline can decide whether to retry. At most one call per
+     * fingerprint is in flight at a time.
+     */
+    public Map<String, List<WellnessRecommendationDto>> requestTips(JendoTest test, LocalDateTime windowStart) {
+        TipPromptInputs inputs = inputsFor(test, windowStart);
+        String fingerprint = inputs.fingerprint();
+
+        Map<String, List<WellnessRecommendationDto>> cached = responsesByFingerprint.getIfPresent(fingerprint);
+        if (cached != null) {
+            log.debug("Reusing Groq tips for fingerprint {}", fingerprint);
+            return cached;
+        }
+
+        CompletableFuture<Map<String, List<WellnessRecommendationDto>>> call = new CompletableFuture<>();
+        CompletableFuture<Map<String, List<WellnessRecommendationDto>>> existing = inFlight.putIfAbsent(fingerprint, call);
+        if (existing != null) {
+            log.debug("Joining in-flight Groq call for fingerprint {}", fingerprint);
+            return awaitInFlight(existing);
+        }
+
+        try {
+            Map<String, List<WellnessRecommendationDto>> tips = responsesByFingerprint.getIfPresent(fingerprint);
+            if (tips == null) {
+                tips = callAndMap(inputs);
+                responsesByFingerprint.put(fingerprint, tips);
+            }
+            call.complete(tips);
+            return tips;
+        } catch (RuntimeException ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(fingerprint, call);
+        }
+    }
+
+    public CacheStatsDto cacheStats() {
+        return CacheStatsDto.of("groq-tip-fingerprints", responsesByFingerprint);
+    }
+
+    private TipPromptInputs inputsFor(JendoTest test, LocalDateTime windowStart) {
+        return TipPromptInputs.of(test, windowStart.toLocalDate(), bucketing);
+    }
+
+    private Map<String, List<WellnessRecommendationDto>> awaitInFlight(
+            CompletableFuture<Map<String, List<WellnessRecommendationDto>>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Map<String, List<WellnessRecommendationDto>> callAndMap(TipPromptInputs inputs) {
+        log.debug("Groq API key present, building prompt...");
+        String prompt = buildPrompt(inputs);
+        log.debug("Prompt built, calling Groq API...");
+
+        String responseBody = callGroq(prompt);
+        if (!StringUtils.hasText(responseBody)) {
+            throw new IllegalStateException("Empty response from Groq");
+        }
+
+        Map<String, List<WellnessRecommendationDto>> result = responseParser.parse(responseBody, inputs.riskLevel());
+        log.info("Successfully generated {} categories of tips from Groq", result.size());
+        return result;
+    }
+
+    public Map<String, List<WellnessRecommendationDto>> fallbackByRisk(String riskLevel) {
+        return catalog.fallbackTips(riskLevel);
+    }
+
+    private String buildPrompt(TipPromptInputs inputs) {
+        return """
+You are a cardiometabolic wellness coach. Create 3 concise tips per category with an emoji prefix.
+Categories: diet, exercise, sleep, stress.
+Personalize using:
+- risk_level: %s
+- score: %s
+- heart_rate: %s bpm
+- blood_pressure: %s
+- spo2: %s%%
+- vascular_risk: %s
+Day seed: %d (change tips daily).
+Return JSON only:
+{
+    \"diet\": [{\"title\":\"..\", \"description\":\"short..\", \"longDescription\":\"detailed..\"}],
+    \"exercise\": [...3 tips...],
+    \"sleep\": [...3 tips...],
+    \"stress\": [...3 tips...]
+}
+Keep each short description 20-35 words, each longDescription 40-60 words, friendly, actionable, avoid duplication across categories, include emojis.
+""".formatted(
+                inputs.riskLevel(),
+                inputs.score(),
+                inputs.heartRate(),
+                inputs.bloodPressure(),
+                inputs.spo2(),
+                inputs.vascularRisk(),
+                inputs.daySeed()
+        );
+    }
+
+    private String callGroq(String prompt) {
+        log.debug("Calling Groq API with URL: {}", groqUrl);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", GROQ_MODEL);
+        body.put("messages", List.of(Map.of(
+                "role", "user",
+                "content", prompt
+        )));
+        body.put("temperature", 0.7);
+        body.put("max_tokens", 800);
+
+        try {
+            return llmHttpClient.postJson(
+                    groqUrl,
+                    Map.of("Authorization", "Bearer " + groqApiKey),
+                    objectMapper.writeValueAsString(body)
+            );
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize Groq request", ex);
+        } catch (RuntimeException ex) {
+            log.error("Error calling Groq API", ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.common.bulkhead.Bulkhead;
+import com.jendo.app.common.bulkhead.Bulkheads;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import com.jendo.app.domain.wellnessrecommendation.repository.DailyAiTipRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Generates a user's daily AI tips when they open the app before the 06:00
+ * job reached them. Generation runs on the wellness bulkhead, at most once
+ * per user and window; other requests for the same user join it. Callers
+ * get a future that completes with the static fallback after a configurable
+ * timeout or when the bulkhead is full, while a started generation keeps
+ * running and lands in the DB and tip cache for the next request.
+ */
+@Component
+@Slf4j
+public class DailyAiTipOnDemandGenerator {
+
+    private final DailyAiTipGenerator generator;
+    private final DailyAiTipRepository dailyAiTipRepository;
+    private final DailyAiTipPayloadCodec payloadCodec;
+    private final DailyAiTipCache tipCache;
+    private final Bulkhead bulkhead;
+    private final long waitTimeoutMs;
+    private final ConcurrentMap<Key, CompletableFuture<Map<String, List<WellnessRecommendationDto>>>> inFlight = new ConcurrentHashMap<>();
+
+    public DailyAiTipOnDemandGenerator(DailyAiTipGenerator generator,
+                                       DailyAiTipRepository dailyAiTipRepository,
+                                       DailyAiTipPayloadCodec payloadCodec,
+                                       DailyAiTipCache tipCache,
+                                       Bulkheads bulkheads,
+                                       @Value("${wellness.daily-tips.on-demand.wait-timeout-ms:3000}") long waitTimeoutMs) {
+        this.generator = generator;
+        this.dailyAiTipRepository = dailyAiTipRepository;
+        this.payloadCodec = payloadCodec;
+        this.tipCache = tipCache;
+        this.bulkhead = bulkheads.wellness();
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    public CompletableFuture<Map<String, List<WellnessRecommendationDto>>> generate(Long userId, DailyTipWindow window,
+                                                                                     JendoTest test) {
+        Key key = new Key(userId, window.start());
+        CompletableFuture<Map<String, List<WellnessRecommendationDto>>> call = new CompletableFuture<>();
+        CompletableFuture<Map<String, List<WellnessRecommendationDto>>> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            log.debug("Joining in-flight AI tip generation for user {}", userId);
+            call = existing;
+        } else {
+            start(key, call, window, test);
+        }
+
+        // A copy, so one caller's timeout never completes the shared generation
+        return call.copy()
+                .orTimeout(waitTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        log.info("AI tips for user {} not ready after {} ms, serving static recommendations while generation continues",
+                                userId, waitTimeoutMs);
+                    } else {
+                        log.warn("AI tip generation for user {} failed, serving static recommendations", userId, cause);
+                    }
+                    return generator.fallbackByRisk(test.getRiskLevel());
+                });
+    }
+
+    private void start(Key key, CompletableFuture<Map<String, List<WellnessRecommendationDto>>> call,
+                       DailyTipWindow window, JendoTest test) {
+        bulkhead.supply(() -> {
+            Map<String, List<WellnessRecommendationDto>> tips = generator.generate(test, window.start());
+            persist(key.userId(), window, tips);
+            tipCache.put(key.userId(), window, tips);
+            return tips;
+        }).whenComplete((tips, error) -> {
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(error);
+            } else {
+                call.complete(tips);
+            }
+        });
+    }
+
+    private void persist(Long userId, DailyTipWindow window, Map<String, List<WellnessRecommendationDto>> payload) {
+        log.debug("Persisting payload for user: {}, window: {} to {}", userId, window.start(), window.end());
+
+        try {
+            byte[] encoded = payloadCodec.encode(payload);
+            log.debug("Encoded payload length: {} bytes", encoded.length);
+
+            DailyAiTip saved = dailyAiTipRepository.save(DailyAiTip.builder()
+                    .userId(userId)
+                    .windowStart(window.start())
+                    .windowEnd(window.end())
+                    .payload(encoded)
+                    .build());
+            log.info("Successfully persisted AI tips for user {} with ID: {}", userId, saved.getId());
+        } catch (Exception ex) {
+            log.error("Failed to persist AI tips payload for user {}", userId, ex);
+        }
+    }
+
+    private record Key(Long userId, LocalDateTime windowStart) { }
+}
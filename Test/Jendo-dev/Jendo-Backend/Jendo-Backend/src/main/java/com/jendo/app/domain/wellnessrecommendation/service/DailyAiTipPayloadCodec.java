@@ -0,0 +1,194 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Storage format of the {@link DailyAiTip} payload. Only the fields that are
+ * read back (title, descriptions, risk level) are written, as compact JSON or
+ * Smile, optionally deflated, behind a leading format-version byte. Rows from
+ * before the binary column carry pretty-printed JSON text and are still read.
+ */
+@Component
+@Slf4j
+public class DailyAiTipPayloadCodec {
+
+    public enum Format {
+        JSON(1, false, false),
+        SMILE(2, true, false),
+        JSON_DEFLATE(3, false, true),
+        SMILE_DEFLATE(4, true, true);
+
+        private final byte version;
+        private final boolean smile;
+        private final boolean deflated;
+
+        Format(int version, boolean smile, boolean deflated) {
+            this.version = (byte) version;
+            this.smile = smile;
+            this.deflated = deflated;
+        }
+
+        static Format ofVersion(byte version) {
+            for (Format format : values()) {
+                if (format.version == version) {
+                    return format;
+                }
+            }
+            throw new IllegalStateException("Unknown daily AI tip payload format " + version);
+        }
+    }
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final Format writeFormat;
+
+    public DailyAiTipPayloadCodec(@Value("${wellness.daily-tips.payload-format:SMILE_DEFLATE}") Format writeFormat) {
+        this.writeFormat = writeFormat;
+    }
+
+    public byte[] encode(Map<String, List<WellnessRecommendationDto>> tips) {
+        return encode(tips, writeFormat);
+    }
+
+    public byte[] encode(Map<String, List<WellnessRecommendationDto>> tips, Format format) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        buffer.write(format.version);
+        try (OutputStream out = format.deflated ? new DeflaterOutputStream(buffer, new Deflater(Deflater.BEST_SPEED)) : buffer;
+             JsonGenerator generator = factory(format).createGenerator(out)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, List<WellnessRecommendationDto>> category : tips.entrySet()) {
+                generator.writeArrayFieldStart(category.getKey());
+                for (WellnessRecommendationDto tip : category.getValue()) {
+                    generator.writeStartObject();
+                    writeField(generator, "title", tip.getTitle());
+                    writeField(generator, "description", tip.getDescription());
+                    writeField(generator, "longDescription", tip.getLongDescription());
+                    writeField(generator, "riskLevel", tip.getRiskLevel());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to encode daily AI tips payload", ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Tips stored on the row, or an empty map when the payload is missing or
+     * unreadable so the caller can treat the row as a miss.
+     */
+    public Map<String, List<WellnessRecommendationDto>> decode(DailyAiTip stored) {
+        try {
+            if (stored.getPayload() != null && stored.getPayload().length > 0) {
+                return decode(stored.getPayload());
+            }
+            if (stored.getPayloadJson() != null) {
+                try (JsonParser parser = jsonFactory.createParser(stored.getPayloadJson())) {
+                    return readTips(parser);
+                }
+            }
+            log.warn("Daily AI tip {} has no payload", stored.getId());
+        } catch (Exception ex) {
+            log.error("Failed to parse cached AI tips payload", ex);
+        }
+        return Collections.emptyMap();
+    }
+
+    public Map<String, List<WellnessRecommendationDto>> decode(byte[] payload) throws IOException {
+        Format format = Format.ofVersion(payload[0]);
+        JsonFactory factory = factory(format);
+        try (JsonParser parser = format.deflated
+                ? factory.createParser(new InflaterInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1)))
+                : factory.createParser(payload, 1, payload.length - 1)) {
+            return readTips(parser);
+        }
+    }
+
+    private JsonFactory factory(Format format) {
+        return format.smile ? smileFactory : jsonFactory;
+    }
+
+    private static void writeField(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static Map<String, List<WellnessRecommendationDto>> readTips(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Daily AI tips payload is not a JSON object");
+        }
+
+        Map<String, List<WellnessRecommendationDto>> result = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String category = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Tips for category '" + category + "' are not an array");
+            }
+            List<WellnessRecommendationDto> tips = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                tips.add(readTip(parser, category));
+            }
+            result.put(category, tips);
+        }
+        return result;
+    }
+
+    private static WellnessRecommendationDto readTip(JsonParser parser, String category) throws IOException {
+        String title = null;
+        String description = null;
+        String longDescription = null;
+        String riskLevel = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!value.isScalarValue()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "title" -> title = parser.getValueAsString();
+                case "description" -> description = parser.getValueAsString();
+                case "longDescription" -> longDescription = parser.getValueAsString();
+                case "riskLevel" -> riskLevel = parser.getValueAsString();
+                default -> { }
+            }
+        }
+
+        String shortText = description != null ? description : "";
+        return WellnessRecommendationDto.builder()
+                .title(title != null ? title : "Tip")
+                .description(shortText)
+                .longDescription(longDescription != null ? longDescription : shortText)
+                .category(category)
+                .riskLevel(riskLevel != null ? riskLevel : "")
+                .priority(0)
+                .isActive(true)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.jendo.app.domain.wellnessrecommendation.service;
 
+import com.jendo.app.domain.wellnessrecommendation.dto.DailyTipGenerationSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,8 +16,8 @@ public class DailyAiTipPopulateJob {
     @Scheduled(cron = "0 0 6 * * *", zone = "Asia/Colombo")
     public void populateDailyTipsForAllUsers() {
         try {
-            wellnessRecommendationService.generateDailyTipsForAllUsers();
-            log.info("Daily AI tips pre-generation completed at 06:00 for all users");
+            DailyTipGenerationSummary summary = wellnessRecommendationService.generateDailyTipsForAllUsers();
+            log.info("Daily AI tips pre-generation completed for {} users in {} ms", summary.getTotalUsers(), summary.getDurationMs());
         } catch (Exception ex) {
             log.error("Daily AI tips pre-generation failed", ex);
         }
@@ -0,0 +1,20 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Daily AI tips are valid from 06:00 until 05:59:59 the next morning.
+ */
+public record DailyTipWindow(LocalDateTime start, LocalDateTime end) {
+
+    private static final LocalTime ANCHOR = LocalTime.of(6, 0);
+
+    public static DailyTipWindow containing(LocalDateTime now) {
+        LocalDate startDate = now.toLocalTime().isBefore(ANCHOR) ? now.toLocalDate().minusDays(1) : now.toLocalDate();
+        LocalDateTime start = LocalDateTime.of(startDate, ANCHOR);
+        LocalDateTime end = start.plusDays(1).minusSeconds(1);
+        return new DailyTipWindow(start, end);
+    }
+}
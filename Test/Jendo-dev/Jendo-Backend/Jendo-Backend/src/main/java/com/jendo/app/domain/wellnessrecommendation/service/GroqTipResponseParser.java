@@ -0,0 +1,152 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass extraction of daily tips from a Groq chat completion.
+ * The response body is streamed once to reach {@code choices[0].message.content};
+ * the content is then streamed again between its outermost braces, which
+ * drops any markdown code fence around it, and the DTOs are built as the
+ * tokens arrive. No intermediate trees or maps are materialized.
+ */
+@Component
+public class GroqTipResponseParser {
+
+    static final int TIPS_PER_CATEGORY = 3;
+
+    private final JsonFactory jsonFactory;
+
+    public GroqTipResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public Map<String, List<WellnessRecommendationDto>> parse(String responseBody, String riskLevel) {
+        String content = extractContent(responseBody);
+        if (content == null) {
+            throw new IllegalStateException("Groq message content is missing");
+        }
+
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        if (start < 0 || end < start) {
+            throw new IllegalStateException("Groq message content holds no JSON object");
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(content.toCharArray(), start, end - start + 1)) {
+            return readCategories(parser, riskLevel);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unparseable Groq response", ex);
+        }
+    }
+
+    /**
+     * {@code choices[0].message.content} of a chat completion, or {@code null}
+     * when the body has no such field.
+     */
+    String extractContent(String responseBody) {
+        try (JsonParser parser = jsonFactory.createParser(responseBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    return parser.nextToken() == JsonToken.START_OBJECT ? readMessageContent(parser) : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unparseable Groq response", ex);
+        }
+    }
+
+    private String readMessageContent(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String messageField = parser.currentName();
+                    JsonToken messageValue = parser.nextToken();
+                    if ("content".equals(messageField)) {
+                        return messageValue == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private Map<String, List<WellnessRecommendationDto>> readCategories(JsonParser parser, String riskLevel) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Groq tips payload is not a JSON object");
+        }
+
+        Map<String, List<WellnessRecommendationDto>> result = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String category = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Tips for category '" + category + "' are not an array");
+            }
+
+            List<WellnessRecommendationDto> tips = new ArrayList<>(TIPS_PER_CATEGORY);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (tips.size() >= TIPS_PER_CATEGORY || parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                tips.add(readTip(parser, category, riskLevel));
+            }
+            result.put(category, tips);
+        }
+        return result;
+    }
+
+    private WellnessRecommendationDto readTip(JsonParser parser, String category, String riskLevel) throws IOException {
+        String title = null;
+        String description = null;
+        String longDescription = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isScalarValue()) {
+                switch (field) {
+                    case "title" -> title = parser.getValueAsString();
+                    case "description" -> description = parser.getValueAsString();
+                    case "longDescription" -> longDescription = parser.getValueAsString();
+                    default -> { }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        String shortText = description != null ? description : "";
+        return WellnessRecommendationDto.builder()
+                .title(title != null ? title : "Tip")
+                .description(shortText)
+                .longDescription(longDescription != null ? longDescription : shortText)
+                .category(category)
+                .riskLevel(riskLevel)
+                .priority(0)
+                .isActive(true)
+                .build();
+    }
+}
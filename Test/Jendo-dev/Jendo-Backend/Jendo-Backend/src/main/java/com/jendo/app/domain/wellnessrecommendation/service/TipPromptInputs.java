@@ -0,0 +1,97 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * The normalized values the Groq tip prompt is built from. Two tests that
+ * normalize to the same inputs produce the same prompt, so the SHA-256 of the
+ * canonical form is used as a content address for the generated tips. The
+ * risk level is kept as recorded, since it is echoed in the prompt and the
+ * returned tips; only the fingerprint ignores its case.
+ */
+public record TipPromptInputs(
+        String riskLevel,
+        String score,
+        String heartRate,
+        String bloodPressure,
+        String spo2,
+        String vascularRisk,
+        LocalDate windowDate
+) {
+
+    public static TipPromptInputs of(JendoTest test, LocalDate windowDate, Bucketing bucketing) {
+        return new TipPromptInputs(
+                test.getRiskLevel(),
+                decimal(test.getScore(), bucketing.scoreStep()),
+                test.getHeartRate() != null ? String.valueOf(roundTo(test.getHeartRate(), bucketing.heartRateStep())) : null,
+                bloodPressure(test.getBloodPressure(), bucketing.bloodPressureStep()),
+                decimal(test.getSpo2(), bucketing.spo2Step()),
+                decimal(test.getVascularRisk(), bucketing.vascularRiskStep()),
+                windowDate
+        );
+    }
+
+    public int daySeed() {
+        return windowDate.getDayOfYear();
+    }
+
+    public String fingerprint() {
+        String riskKey = riskLevel != null ? riskLevel.trim().toUpperCase(Locale.ROOT) : null;
+        String canonical = String.join("|", riskKey, score, heartRate, bloodPressure, spo2, vascularRisk, windowDate.toString());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String decimal(BigDecimal value, BigDecimal step) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal normalized = value;
+        if (step != null && step.signum() > 0) {
+            normalized = value.divide(step, 0, RoundingMode.HALF_UP).multiply(step);
+        }
+        return normalized.stripTrailingZeros().toPlainString();
+    }
+
+    private static int roundTo(int value, int step) {
+        return step > 1 ? Math.round((float) value / step) * step : value;
+    }
+
+    private static String bloodPressure(String value, int step) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.replace(" ", "");
+        String[] parts = trimmed.split("/");
+        if (parts.length != 2) {
+            return trimmed;
+        }
+        try {
+            return roundTo(Integer.parseInt(parts[0]), step) + "/" + roundTo(Integer.parseInt(parts[1]), step);
+        } catch (NumberFormatException ex) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * Step sizes for rounding numeric vitals; {@link #NONE} keeps exact values.
+     */
+    public record Bucketing(BigDecimal scoreStep, int heartRateStep, int bloodPressureStep,
+                            BigDecimal spo2Step, BigDecimal vascularRiskStep) {
+
+        public static final Bucketing NONE = new Bucketing(null, 1, 1, null, null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.event.WellnessRecommendationsChangedEvent;
+import com.jendo.app.domain.wellnessrecommendation.mapper.WellnessRecommendationMapper;
+import com.jendo.app.domain.wellnessrecommendation.repository.WellnessRecommendationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of the active wellness recommendations, indexed by
+ * normalized risk level and category. The snapshot is immutable and swapped
+ * as a whole after every committed create/update/delete, so readers never
+ * hit the database and never see a half-built index. The DTOs are shared
+ * between callers and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WellnessRecommendationCatalog {
+
+    static final int FALLBACK_TIPS_PER_CATEGORY = 3;
+
+    private final WellnessRecommendationRepository repository;
+    private final WellnessRecommendationMapper mapper;
+
+    // A lock rather than synchronized: the rebuild queries Postgres, and a
+    // monitor held across I/O would pin a virtual thread to its carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Active recommendations for the risk level, ordered by priority.
+     */
+    public List<WellnessRecommendationDto> byRiskLevel(String riskLevel) {
+        return current().byRisk().getOrDefault(normalize(riskLevel), List.of());
+    }
+
+    /**
+     * The top recommendations per category for the risk level, used when no
+     * AI tips can be generated.
+     */
+    public Map<String, List<WellnessRecommendationDto>> fallbackTips(String riskLevel) {
+        return current().fallbackByRisk().getOrDefault(normalize(riskLevel), Map.of());
+    }
+
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            rebuild();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        long startedAt = System.nanoTime();
+        Map<String, List<WellnessRecommendationDto>> byRisk = new LinkedHashMap<>();
+        repository.findByIsActiveTrueOrderByPriorityAscIdAsc().stream()
+                .map(mapper::toDto)
+                .filter(dto -> StringUtils.hasText(dto.getRiskLevel()))
+                .forEach(dto -> byRisk.computeIfAbsent(normalize(dto.getRiskLevel()), k -> new ArrayList<>()).add(dto));
+
+        Map<String, List<WellnessRecommendationDto>> frozenByRisk = new LinkedHashMap<>();
+        Map<String, Map<String, List<WellnessRecommendationDto>>> fallbackByRisk = new LinkedHashMap<>();
+        byRisk.forEach((risk, recommendations) -> {
+            frozenByRisk.put(risk, List.copyOf(recommendations));
+
+            Map<String, List<WellnessRecommendationDto>> byCategory = new LinkedHashMap<>();
+            for (WellnessRecommendationDto dto : recommendations) {
+                String category = StringUtils.hasText(dto.getCategory()) ? dto.getCategory() : "general";
+                List<WellnessRecommendationDto> tips = byCategory.computeIfAbsent(category, k -> new ArrayList<>());
+                if (tips.size() < FALLBACK_TIPS_PER_CATEGORY) {
+                    tips.add(dto);
+                }
+            }
+            byCategory.replaceAll((category, tips) -> List.copyOf(tips));
+            fallbackByRisk.put(risk, Collections.unmodifiableMap(byCategory));
+        });
+
+        snapshot = new Snapshot(Collections.unmodifiableMap(frozenByRisk), Collections.unmodifiableMap(fallbackByRisk));
+        log.info("Wellness recommendation catalog rebuilt: {} risk levels, {} recommendations in {} ms",
+                frozenByRisk.size(), frozenByRisk.values().stream().mapToInt(List::size).sum(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecommendationsChanged(WellnessRecommendationsChangedEvent event) {
+        log.debug("Wellness recommendation {} changed, rebuilding catalog", event.recommendationId());
+        refresh();
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot;
+        if (loaded == null) {
+            refreshLock.lock();
+            try {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                loaded = snapshot;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return loaded;
+    }
+
+    private static String normalize(String riskLevel) {
+        return riskLevel != null ? riskLevel.trim().toUpperCase(Locale.ROOT) : "";
+    }
+
+    private record Snapshot(Map<String, List<WellnessRecommendationDto>> byRisk,
+                            Map<String, Map<String, List<WellnessRecommendationDto>>> fallbackByRisk) { }
+}
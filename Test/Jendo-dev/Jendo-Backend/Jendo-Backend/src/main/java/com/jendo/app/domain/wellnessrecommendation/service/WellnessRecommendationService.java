@@ -1,11 +1,14 @@
 package com.jendo.app.domain.wellnessrecommendation.service;
 
+import com.jendo.app.common.dto.CacheStatsDto;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.domain.wellnessrecommendation.dto.DailyTipGenerationSummary;
 import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
 import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationRequestDto;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface WellnessRecommendationService {
     
@@ -19,9 +22,23 @@ public interface WellnessRecommendationService {
     
     List<WellnessRecommendationDto> getRecommendationsForUser(Long userId);
 
-    Map<String, List<WellnessRecommendationDto>> getDailyAiTips(Long userId);
+    /**
+     * Today's tips. Cached and stored tips are returned as a completed
+     * future; otherwise the future completes once on-demand generation
+     * finishes or falls back, without blocking the caller.
+     */
+    CompletableFuture<Map<String, List<WellnessRecommendationDto>>> getDailyAiTips(Long userId);
 
-    void generateDailyTipsForAllUsers();
+    /**
+     * Today's tips when they already exist, otherwise the static tips for
+     * the user's risk level; never generates. Used while the AI endpoints
+     * are at capacity.
+     */
+    Map<String, List<WellnessRecommendationDto>> getStoredDailyAiTips(Long userId);
+
+    DailyTipGenerationSummary generateDailyTipsForAllUsers();
+
+    List<CacheStatsDto> getCacheStats();
 
     WellnessRecommendationDto update(Long id, WellnessRecommendationRequestDto request);
     
@@ -1,25 +1,34 @@
 package com.jendo.app.security;
 
 import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.RoleRepository;
 import com.jendo.app.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // Role names are stored as entered ("admin", "ROLE_ADMIN"); authorities are ROLE_<NAME>
+        List<SimpleGrantedAuthority> authorities = roleRepository.findByUserId(user.getId()).stream()
+                .map(role -> role.getRoleName().trim().toUpperCase(Locale.ROOT))
+                .map(name -> new SimpleGrantedAuthority(name.startsWith("ROLE_") ? name : "ROLE_" + name))
+                .toList();
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(), user.getPassword(), Collections.emptyList());
+                user.getEmail(), user.getPassword(), authorities);
     }
 }
\ No newline at end of file
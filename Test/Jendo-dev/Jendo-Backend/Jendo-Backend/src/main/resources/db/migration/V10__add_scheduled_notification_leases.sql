@@ -0,0 +1,6 @@
+-- Lease columns so several instances can share the notification dispatch
+ALTER TABLE scheduled_notifications ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(64);
+ALTER TABLE scheduled_notifications ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+ALTER TABLE scheduled_notifications ADD COLUMN IF NOT EXISTS attempts INTEGER DEFAULT 0;
+
+UPDATE scheduled_notifications SET attempts = 0 WHERE attempts IS NULL;
@@ -0,0 +1,30 @@
+-- Dispatcher claims and the timer look-ahead only ever read unsent rows
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_due
+    ON scheduled_notifications (scheduled_for) WHERE sent = false;
+
+-- Reminder replacement and cancellation by appointment
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_appointment_id
+    ON scheduled_notifications (appointment_id);
+
+-- Archival scans sent rows by send time
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_sent_at
+    ON scheduled_notifications (sent_at) WHERE sent = true;
+
+-- Sent notifications moved out of the live table; no foreign key so appointments can still be deleted
+CREATE TABLE IF NOT EXISTS scheduled_notifications_history (
+    id BIGINT PRIMARY KEY,
+    appointment_id BIGINT,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    scheduled_for TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    data TEXT,
+    attempts INTEGER,
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_history_user_id
+    ON scheduled_notifications_history (user_id);
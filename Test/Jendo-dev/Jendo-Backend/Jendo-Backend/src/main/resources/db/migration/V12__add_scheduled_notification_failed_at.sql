@@ -0,0 +1,12 @@
+-- Rows that used up their send attempts are marked failed instead of staying pending forever
+ALTER TABLE scheduled_notifications ADD COLUMN IF NOT EXISTS failed_at TIMESTAMP;
+ALTER TABLE scheduled_notifications_history ADD COLUMN IF NOT EXISTS failed_at TIMESTAMP;
+
+-- The due index only needs rows that can still be sent
+DROP INDEX IF EXISTS idx_scheduled_notifications_due;
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_due
+    ON scheduled_notifications (scheduled_for) WHERE sent = false AND failed_at IS NULL;
+
+-- Archival scans failed rows by failure time
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_failed_at
+    ON scheduled_notifications (failed_at) WHERE failed_at IS NOT NULL;
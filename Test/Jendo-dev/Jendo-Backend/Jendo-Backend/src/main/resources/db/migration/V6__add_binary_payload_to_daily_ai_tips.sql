@@ -0,0 +1,5 @@
+-- Binary daily AI tip payload; the first byte is the codec format version
+ALTER TABLE daily_ai_tips ADD COLUMN IF NOT EXISTS payload BYTEA;
+
+-- New rows store only the binary payload, existing rows keep their JSON text
+ALTER TABLE daily_ai_tips ALTER COLUMN payload_json DROP NOT NULL;
@@ -0,0 +1,5 @@
+-- Expired-row purge scans by window_end
+CREATE INDEX IF NOT EXISTS idx_daily_ai_tips_window_end ON daily_ai_tips (window_end);
+
+-- Current-window lookups by user
+CREATE INDEX IF NOT EXISTS idx_daily_ai_tips_user_window ON daily_ai_tips (user_id, window_start, window_end);
@@ -0,0 +1,9 @@
+-- Chatbot conversations spilled from the in-memory context store
+CREATE TABLE IF NOT EXISTS chat_conversations (
+    session_id VARCHAR(64) PRIMARY KEY,
+    payload TEXT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Retention purge scans by updated_at
+CREATE INDEX IF NOT EXISTS idx_chat_conversations_updated_at ON chat_conversations (updated_at);
@@ -0,0 +1,12 @@
+-- Send outcome tracking for device token pruning
+ALTER TABLE device_tokens ADD COLUMN IF NOT EXISTS failure_count INTEGER DEFAULT 0;
+ALTER TABLE device_tokens ADD COLUMN IF NOT EXISTS last_success_at TIMESTAMP;
+ALTER TABLE device_tokens ADD COLUMN IF NOT EXISTS deactivated_at TIMESTAMP;
+
+UPDATE device_tokens SET failure_count = 0 WHERE failure_count IS NULL;
+
+-- Tokens already inactive become eligible for compaction from their last update
+UPDATE device_tokens SET deactivated_at = updated_at WHERE is_active = false AND deactivated_at IS NULL;
+
+-- Compaction scans inactive tokens by deactivation time
+CREATE INDEX IF NOT EXISTS idx_device_tokens_deactivated_at ON device_tokens (deactivated_at) WHERE is_active = false;
@@ -0,0 +1,60 @@
+package com.jendo.app.common.bulkhead;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    @Test
+    @DisplayName("A full bulkhead rejects new work immediately and counts it")
+    void rejectsWhenFull() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = bulkhead.supply(() -> await(release, "first"));
+            CompletableFuture<String> queued = bulkhead.supply(() -> "second");
+            CompletableFuture<String> rejected = bulkhead.supply(() -> "third");
+
+            assertThat(rejected).isCompletedExceptionally();
+            assertThat(rejected.handle((value, error) -> error).join()).isInstanceOf(RejectedExecutionException.class);
+            assertThat(bulkhead.stats())
+                    .extracting("threads", "queued", "queueCapacity", "rejected")
+                    .containsExactly(1, 1, 1, 1L);
+            assertThat(bulkhead.stats().getSaturation()).isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(running.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Work runs on the bulkhead's own threads")
+    void runsOnOwnThreads() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 2, 4);
+        try {
+            String thread = bulkhead.supply(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS);
+            assertThat(thread).startsWith("bulkhead-test-");
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    private static String await(CountDownLatch latch, String value) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jendo.app.common.http;
+
+import com.jendo.app.common.dto.HedgeStatsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedLlmCallerTest {
+
+    private final HedgedLlmCaller caller = new HedgedLlmCaller(95, 200, 10, 5, 60);
+    private final Map<String, CompletableFuture<String>> started = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        caller.shutdown();
+    }
+
+    @Test
+    @DisplayName("A fast primary answers alone and the backup is never called")
+    void fastPrimaryAnswersAlone() throws Exception {
+        String answer = caller.call("primary", "backup", respond(Map.of("primary", "p")), Function.identity()).join();
+        Thread.sleep(300);
+
+        assertThat(answer).isEqualTo("p");
+        assertThat(started).containsOnlyKeys("primary");
+    }
+
+    @Test
+    @DisplayName("A slow primary is hedged after the delay and cancelled once the backup wins")
+    void slowPrimaryIsHedged() {
+        long begin = System.nanoTime();
+        String answer = caller.call("primary", "backup", respond(Map.of("backup", "b")), Function.identity()).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - begin);
+
+        assertThat(answer).isEqualTo("b");
+        assertThat(elapsed).isBetween(Duration.ofMillis(150), Duration.ofMillis(2000));
+        assertThat(started.get("primary")).isCancelled();
+    }
+
+    @Test
+    @DisplayName("A failed or unusable primary triggers the backup without waiting for the delay")
+    void failedPrimaryHedgesImmediately() {
+        Function<String, CompletableFuture<String>> request = target -> target.equals("primary")
+                ? CompletableFuture.completedFuture("garbage")
+                : CompletableFuture.completedFuture("b");
+
+        long begin = System.nanoTime();
+        String answer = caller.call("primary", "backup", request, body -> body.equals("garbage") ? null : body).join();
+
+        assertThat(answer).isEqualTo("b");
+        assertThat(Duration.ofNanos(System.nanoTime() - begin)).isLessThan(Duration.ofMillis(150));
+    }
+
+    @Test
+    @DisplayName("Completes with null when neither target produces an answer")
+    void bothFail() {
+        Function<String, CompletableFuture<String>> request =
+                target -> CompletableFuture.failedFuture(new LlmCallException(target + " down", 503));
+
+        assertThat(caller.call("primary", "backup", request, Function.identity()).join()).isNull();
+        assertThat(caller.stats()).extracting(HedgeStatsDto::getFailures).containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Hedge delay follows the primary's observed latency once enough samples exist")
+    void delayAdaptsToLatency() {
+        assertThat(caller.hedgeDelayMs("primary")).isEqualTo(200);
+
+        for (int i = 0; i < 5; i++) {
+            caller.call("primary", "backup", respond(Map.of("primary", "p")), Function.identity()).join();
+        }
+
+        assertThat(caller.hedgeDelayMs("primary")).isBetween(10L, 199L);
+        List<HedgeStatsDto> stats = caller.stats();
+        assertThat(stats).extracting(HedgeStatsDto::getTarget).containsExactly("primary");
+        assertThat(stats.get(0).getWins()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Primaries that keep losing to the backup still count toward their own delay")
+    void losingPrimaryDoesNotShrinkDelay() {
+        for (int i = 0; i < 5; i++) {
+            caller.call("primary", "backup", respond(Map.of("primary", "p")), Function.identity()).join();
+        }
+        long fastDelay = caller.hedgeDelayMs("primary");
+
+        // From now on the primary never answers and the backup takes 50 ms
+        Function<String, CompletableFuture<String>> request = target -> target.equals("primary")
+                ? new CompletableFuture<>()
+                : CompletableFuture.supplyAsync(() -> "b", CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 10; i++) {
+            assertThat(caller.call("primary", "backup", request, Function.identity()).join()).isEqualTo("b");
+        }
+
+        assertThat(caller.hedgeDelayMs("primary")).isGreaterThanOrEqualTo(Math.max(fastDelay, 50));
+    }
+
+    /**
+     * Answers immediately for the given targets and never for the others,
+     * recording every future it hands out.
+     */
+    private Function<String, CompletableFuture<String>> respond(Map<String, String> answers) {
+        return target -> {
+            CompletableFuture<String> future = answers.containsKey(target)
+                    ? CompletableFuture.completedFuture(answers.get(target))
+                    : new CompletableFuture<>();
+            started.put(target, future);
+            return future;
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.jendo.app.common.http;
+
+import com.jendo.app.common.dto.OutboundHostStatsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmHttpClientTest {
+
+    private StubLlmServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubLlmServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Sequential calls reuse one pooled connection and are recorded per host")
+    void reusesConnection() {
+        LlmHttpClient client = new LlmHttpClient(1000, 2000, 4, 100, 5, 30_000);
+        stub.respond(200, "{\"ok\":true}");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(client.postJson(stub.url("/v1/chat"), Map.of(), "{}")).isEqualTo("{\"ok\":true}");
+        }
+
+        assertThat(stub.clientPorts()).hasSize(1);
+        OutboundHostStatsDto stats = client.stats().get(0);
+        assertThat(stats.getCalls()).isEqualTo(5);
+        assertThat(stats.getFailures()).isZero();
+        assertThat(stats.getCircuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("Circuit opens after consecutive server errors and stops calling upstream")
+    void opensCircuit() {
+        LlmHttpClient client = new LlmHttpClient(1000, 2000, 4, 100, 3, 30_000);
+        stub.respond(503, "{}");
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.postJson(stub.url("/v1/chat"), Map.of(), "{}"))
+                    .isInstanceOf(LlmCallException.class)
+                    .extracting(ex -> ((LlmCallException) ex).getStatusCode())
+                    .isEqualTo(503);
+        }
+        assertThatThrownBy(() -> client.postJson(stub.url("/v1/chat"), Map.of(), "{}"))
+                .isInstanceOf(LlmCallException.class)
+                .hasMessageContaining("Circuit open");
+
+        assertThat(stub.requests()).isEqualTo(3);
+        assertThat(client.stats().get(0).getCircuitState()).isEqualTo("OPEN");
+    }
+
+    @Test
+    @DisplayName("Half-open trial closes the circuit once upstream recovers")
+    void recoversAfterOpenWindow() throws Exception {
+        LlmHttpClient client = new LlmHttpClient(1000, 2000, 4, 100, 1, 50);
+        stub.respond(500, "{}");
+        assertThatThrownBy(() -> client.postJson(stub.url("/"), Map.of(), "{}")).isInstanceOf(LlmCallException.class);
+
+        Thread.sleep(80);
+        stub.respond(200, "{}");
+
+        assertThat(client.postJson(stub.url("/"), Map.of(), "{}")).isEqualTo("{}");
+        assertThat(client.stats().get(0).getCircuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("Per-host limit caps concurrent upstream calls and rejects the async overflow without waiting")
+    void limitsConcurrencyPerHost() {
+        LlmHttpClient client = new LlmHttpClient(1000, 5000, 2, 2000, 5, 30_000);
+        stub.respond(200, "{}").delay(300);
+
+        long started = System.nanoTime();
+        List<CompletableFuture<String>> calls = IntStream.range(0, 6)
+                .mapToObj(i -> client.postJsonAsync(stub.url("/"), Map.of(), "{}", Duration.ofSeconds(5)))
+                .toList();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(1000));
+        assertThat(calls.subList(2, 6)).allMatch(CompletableFuture::isCompletedExceptionally);
+        long succeeded = calls.stream().map(call -> call.exceptionally(ex -> null).join()).filter(body -> body != null).count();
+
+        assertThat(stub.peakConcurrency()).isLessThanOrEqualTo(2);
+        assertThat(succeeded).isEqualTo(2);
+        assertThat(client.stats().get(0).getRejected()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Slow upstream fails with a timeout instead of holding the caller")
+    void timesOut() {
+        LlmHttpClient client = new LlmHttpClient(1000, 100, 4, 100, 5, 30_000);
+        stub.respond(200, "{}").delay(1000);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> client.postJson(stub.url("/"), Map.of(), "{}"))
+                .isInstanceOf(LlmCallException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(900));
+    }
+
+    @Test
+    @DisplayName("Cancelling a call frees its permit without counting against the circuit")
+    void cancelsWithoutTrippingCircuit() throws Exception {
+        LlmHttpClient client = new LlmHttpClient(1000, 5000, 1, 50, 1, 30_000);
+        stub.respond(200, "{}").delay(3000);
+
+        CompletableFuture<String> call = client.postJsonAsync(stub.url("/"), Map.of(), "{}", Duration.ofSeconds(5));
+        Thread.sleep(100);
+        call.cancel(true);
+        for (int i = 0; i < 100 && client.stats().get(0).getInFlight() > 0; i++) {
+            Thread.sleep(20);
+        }
+
+        OutboundHostStatsDto stats = client.stats().get(0);
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getFailures()).isZero();
+        assertThat(stats.getCircuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("Streaming call delivers the body line by line")
+    void streamsLines() {
+        LlmHttpClient client = new LlmHttpClient(1000, 2000, 4, 100, 5, 30_000);
+        stub.respond(200, "data:{\"token\":{\"text\":\"Hi\"}}\n\ndata:{\"token\":{\"text\":\" there\"}}\n");
+        List<String> lines = new CopyOnWriteArrayList<>();
+
+        client.postJsonStreaming(stub.url("/"), Map.of(), "{}", Duration.ofSeconds(2), lines::add).join();
+
+        assertThat(lines).containsExactly("data:{\"token\":{\"text\":\"Hi\"}}", "", "data:{\"token\":{\"text\":\" there\"}}");
+        assertThat(client.stats().get(0).getInFlight()).isZero();
+    }
+}
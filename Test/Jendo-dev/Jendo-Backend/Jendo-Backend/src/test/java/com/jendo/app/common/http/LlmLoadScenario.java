@@ -0,0 +1,79 @@
+package com.jendo.app.common.http;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires a fixed number of calls from a fixed number of caller threads and
+ * records each call's end-to-end latency, its result or exception, and how
+ * many threads beyond the callers the JVM needed at its peak.
+ */
+public final class LlmLoadScenario {
+
+    private LlmLoadScenario() {
+    }
+
+    public static <T> Result<T> run(int callers, int calls, Callable<T> call) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        int threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        List<Future<Sample<T>>> futures = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            futures.add(pool.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    T value = call.call();
+                    return new Sample<>(System.nanoTime() - startedAt, value, null);
+                } catch (Exception ex) {
+                    return new Sample<>(System.nanoTime() - startedAt, null, ex);
+                }
+            }));
+        }
+
+        List<Sample<T>> samples = new ArrayList<>(calls);
+        try {
+            for (Future<Sample<T>> future : futures) {
+                samples.add(future.get(60, TimeUnit.SECONDS));
+            }
+        } catch (Exception ex) {
+            throw new IllegalStateException("Load scenario did not finish", ex);
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        return new Result<>(samples, threads.getPeakThreadCount() - threadsBefore - callers);
+    }
+
+    public record Sample<T>(long latencyNanos, T value, Exception error) { }
+
+    public record Result<T>(List<Sample<T>> samples, int peakExtraThreads) {
+
+        public List<T> values() {
+            return samples.stream().filter(sample -> sample.error() == null).map(Sample::value).toList();
+        }
+
+        public long errors() {
+            return samples.stream().filter(sample -> sample.error() != null).count();
+        }
+
+        /**
+         * Latency at the given percentile (0-100) in milliseconds.
+         */
+        public long percentileMs(double percentile) {
+            List<Long> latencies = new ArrayList<>(samples.stream().map(Sample::latencyNanos).toList());
+            Collections.sort(latencies);
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.size()) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(latencies.get(Math.max(0, Math.min(index, latencies.size() - 1))));
+        }
+    }
+}
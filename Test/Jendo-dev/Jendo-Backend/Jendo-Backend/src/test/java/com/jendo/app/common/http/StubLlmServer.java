@@ -0,0 +1,150 @@
+package com.jendo.app.common.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for an LLM provider. Every POST is answered with the
+ * currently configured status, body and delay; the server records how many
+ * requests it saw, the peak number handled at once and which client ports
+ * they came from (one port means the connection was kept alive).
+ * Faults can be injected per request: a latency drawn uniformly from a
+ * range, a share of error responses and a share of truncated JSON bodies.
+ * The draws come from a fixed seed so a scenario replays the same way.
+ */
+public class StubLlmServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicInteger errorsServed = new AtomicInteger();
+    private final AtomicInteger malformedServed = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final Random random = new Random(42);
+
+    private volatile int status = 200;
+    private volatile String body = "{}";
+    private volatile long delayMs;
+    private volatile long maxDelayMs;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private volatile double malformedRate;
+
+    public StubLlmServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public StubLlmServer respond(int status, String body) {
+        this.status = status;
+        this.body = body;
+        return this;
+    }
+
+    public StubLlmServer delay(long delayMs) {
+        return delay(delayMs, delayMs);
+    }
+
+    /**
+     * Each response waits a uniformly drawn time between the bounds.
+     */
+    public StubLlmServer delay(long minDelayMs, long maxDelayMs) {
+        this.delayMs = minDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        return this;
+    }
+
+    /**
+     * Answers the given share of requests with {@code status} instead of
+     * the configured response.
+     */
+    public StubLlmServer failing(double rate, int status) {
+        this.errorRate = rate;
+        this.errorStatus = status;
+        return this;
+    }
+
+    /**
+     * Cuts the given share of successful bodies in half, leaving JSON that
+     * does not parse.
+     */
+    public StubLlmServer malformed(double rate) {
+        this.malformedRate = rate;
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int peakConcurrency() {
+        return peakActive.get();
+    }
+
+    public int errorsServed() {
+        return errorsServed.get();
+    }
+
+    public int malformedServed() {
+        return malformedServed.get();
+    }
+
+    public Set<Integer> clientPorts() {
+        return clientPorts;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            long delay = maxDelayMs > delayMs ? delayMs + (long) (random.nextDouble() * (maxDelayMs - delayMs)) : delayMs;
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            int responseStatus = status;
+            String responseBody = body;
+            if (random.nextDouble() < errorRate) {
+                errorsServed.incrementAndGet();
+                responseStatus = errorStatus;
+                responseBody = "{\"error\":\"injected\"}";
+            } else if (random.nextDouble() < malformedRate) {
+                malformedServed.incrementAndGet();
+                responseBody = body.substring(0, body.length() / 2);
+            }
+            byte[] payload = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
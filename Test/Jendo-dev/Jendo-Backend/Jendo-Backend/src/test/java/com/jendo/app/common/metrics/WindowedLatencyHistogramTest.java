@@ -0,0 +1,45 @@
+package com.jendo.app.common.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WindowedLatencyHistogramTest {
+
+    @Test
+    @DisplayName("Samples older than two windows stop counting toward the percentile")
+    void forgetsOldWindows() throws Exception {
+        WindowedLatencyHistogram histogram = new WindowedLatencyHistogram(Duration.ofMillis(300));
+        for (int i = 0; i < 20; i++) {
+            histogram.record(1_500);
+        }
+        assertThat(histogram.percentileMs(95)).isEqualTo(1_500);
+
+        Thread.sleep(350);
+        histogram.record(40);
+        // The slow window is now the previous one and still counts
+        assertThat(histogram.count()).isEqualTo(21);
+        assertThat(histogram.percentileMs(95)).isEqualTo(1_500);
+
+        Thread.sleep(350);
+        for (int i = 0; i < 20; i++) {
+            histogram.record(40);
+        }
+        assertThat(histogram.percentileMs(95)).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("A quiet spell longer than two windows leaves the histogram empty")
+    void emptiesAfterQuietSpell() throws Exception {
+        WindowedLatencyHistogram histogram = new WindowedLatencyHistogram(Duration.ofMillis(50));
+        histogram.record(200);
+
+        Thread.sleep(150);
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentileMs(95)).isZero();
+    }
+}
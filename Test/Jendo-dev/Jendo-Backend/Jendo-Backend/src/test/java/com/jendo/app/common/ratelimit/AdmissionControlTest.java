@@ -0,0 +1,39 @@
+package com.jendo.app.common.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlTest {
+
+    @Test
+    @DisplayName("A client past its burst is rate limited without affecting other clients")
+    void limitsPerClient() throws Exception {
+        AdmissionControl control = new AdmissionControl(0.1, 2, 100, 10, 0, 0);
+
+        assertThat(control.admit("ip:a", false)).isEqualTo(AdmissionControl.Decision.ADMITTED);
+        assertThat(control.admit("ip:a", false)).isEqualTo(AdmissionControl.Decision.ADMITTED);
+        assertThat(control.admit("ip:a", false)).isEqualTo(AdmissionControl.Decision.RATE_LIMITED);
+        assertThat(control.admit("ip:b", false)).isEqualTo(AdmissionControl.Decision.ADMITTED);
+        assertThat(control.retryAfterSeconds()).isEqualTo(10);
+        assertThat(control.stats().getRejectedRateLimited()).isEqualTo(1);
+        assertThat(control.stats().getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("At the concurrency limit requests are degraded or rejected after the queue wait")
+    void limitsConcurrency() throws Exception {
+        AdmissionControl control = new AdmissionControl(100, 100, 100, 1, 1, 20);
+
+        assertThat(control.admit("ip:a", false)).isEqualTo(AdmissionControl.Decision.ADMITTED);
+        assertThat(control.admit("ip:b", true)).isEqualTo(AdmissionControl.Decision.DEGRADED);
+        assertThat(control.admit("ip:c", false)).isEqualTo(AdmissionControl.Decision.OVERLOADED);
+
+        control.release();
+        assertThat(control.admit("ip:c", false)).isEqualTo(AdmissionControl.Decision.ADMITTED);
+        assertThat(control.stats())
+                .extracting("admitted", "degraded", "rejectedOverloaded", "queueDepth")
+                .containsExactly(2L, 1L, 1L, 0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.jendo.app.domain.chatbot.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatResponseCacheTest {
+
+    private final ChatResponseCache cache =
+            new ChatResponseCache(new DefaultResourceLoader(), 100, 60, "classpath:chatbot/response-seed.yml");
+
+    @Test
+    @DisplayName("Questions differing in case, punctuation, spacing and stopwords share a key")
+    void normalizesQuestions() {
+        assertThat(QuestionNormalizer.normalize("How much does it COST?"))
+                .isEqualTo(QuestionNormalizer.normalize("  how much   does it cost"))
+                .isEqualTo("how much cost");
+        assertThat(QuestionNormalizer.normalize("What's the DTM?")).isEqualTo("whats dtm");
+        assertThat(QuestionNormalizer.normalize("Is it?")).isEqualTo("is it");
+        assertThat(QuestionNormalizer.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Seeded answers are served without a prior put")
+    void servesSeededAnswers() {
+        assertThat(cache.get("how long does THE test take")).contains("15 minutes");
+        assertThat(cache.get("What does PPG stand for")).contains("Photoplethysmography");
+    }
+
+    @Test
+    @DisplayName("Generated answers are found again by equivalent questions and counted in stats")
+    void cachesGeneratedAnswers() {
+        assertThat(cache.get("Can my children take the test?")).isNull();
+
+        cache.put("Can my children take the test?", "answer");
+
+        assertThat(cache.get("can   my children take the test")).isEqualTo("answer");
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+}
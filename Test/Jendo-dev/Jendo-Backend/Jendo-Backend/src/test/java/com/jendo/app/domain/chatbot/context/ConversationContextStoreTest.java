@@ -0,0 +1,105 @@
+package com.jendo.app.domain.chatbot.context;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.chatbot.dto.ChatRequest;
+import com.jendo.app.domain.chatbot.entity.ChatConversation;
+import com.jendo.app.domain.chatbot.repository.ChatConversationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationContextStoreTest {
+
+    private final ChatConversationRepository repository = mock(ChatConversationRepository.class);
+
+    @Test
+    @DisplayName("Context stays within the token budget and older questions survive as topics")
+    void boundsContext() throws Exception {
+        ConversationContextStore store = store(100, false);
+        for (int i = 1; i <= 20; i++) {
+            store.record("alice", "s1", "Question number " + i + "? Some detail.", "Answer " + i + ".");
+        }
+
+        // Compaction runs in the background; wait until the window is back to four turns
+        String context = waitForContext(store, "s1", c -> !c.contains("User: Question number 18?"));
+
+        assertThat(context.length()).isLessThanOrEqualTo(400 * 4);
+        assertThat(context).startsWith("Earlier the user asked about: ").contains("Question number 18?\n");
+        assertThat(context).contains("User: Question number 20? Some detail.\nAssistant: Answer 20.\n");
+        assertThat(context).doesNotContain("Assistant: Answer 18.");
+    }
+
+    @Test
+    @DisplayName("Without a known session the client-sent history is used")
+    void usesHistoryForUnknownSession() {
+        ConversationContextStore store = store(100, false);
+        ChatRequest.ChatHistoryItem item = new ChatRequest.ChatHistoryItem();
+        item.setRole("user");
+        item.setContent("Is the test painful?");
+
+        assertThat(store.context("alice", null, List.of(item))).isEqualTo("User: Is the test painful?\n");
+        assertThat(store.context("alice", "unknown", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Sessions evicted for memory are spilled and resumed from Postgres")
+    void spillsEvictedSessions() {
+        ConversationContextStore store = store(2, true);
+        List<String> sessions = List.of("s1", "s2", "s3");
+        store.record("alice", "s1", "What is Jendo?", "A vascular health test.");
+        store.record("alice", "s2", "How long does it take?", "About 15 minutes.");
+        store.record("alice", "s3", "Is it safe?", "Yes, it is non-invasive.");
+
+        // Eviction is asynchronous and may spill more than one session
+        ArgumentCaptor<ChatConversation> spilled = ArgumentCaptor.forClass(ChatConversation.class);
+        verify(repository, timeout(2000).atLeastOnce()).save(spilled.capture());
+        ChatConversation row = spilled.getValue();
+        String sessionId = sessions.stream()
+                .filter(id -> ConversationContextStore.key("alice", id).equals(row.getSessionId()))
+                .findFirst()
+                .orElseThrow();
+        when(repository.findById(row.getSessionId())).thenReturn(Optional.of(row));
+
+        assertThat(store.context("alice", sessionId, null)).contains("User: ").contains("Assistant: ");
+    }
+
+    @Test
+    @DisplayName("A session id only reaches the conversation of the caller who owns it")
+    void scopesSessionsToOwner() {
+        ConversationContextStore store = store(100, false);
+        store.record("user:alice", "1", "Is my blood pressure a concern?", "Let's look at your results.");
+
+        assertThat(store.context("user:alice", "1", null)).contains("blood pressure");
+        assertThat(store.context("ip:10.0.0.9", "1", null)).isEmpty();
+
+        store.record("ip:10.0.0.9", "1", "Hello", "Hi!");
+        assertThat(store.context("user:alice", "1", null)).doesNotContain("Hello");
+    }
+
+    private ConversationContextStore store(long maxSessions, boolean spill) {
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return new ConversationContextStore(repository, new ObjectMapper(), maxSessions, 1, 60,
+                4, 400, 100, 600, 100, spill, 24);
+    }
+
+    private String waitForContext(ConversationContextStore store, String sessionId, Predicate<String> ready)
+            throws InterruptedException {
+        String context = store.context("alice", sessionId, null);
+        for (int i = 0; i < 100 && !ready.test(context); i++) {
+            Thread.sleep(20);
+            context = store.context("alice", sessionId, null);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,150 @@
+package com.jendo.app.domain.chatbot.intent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntentMatcherTest {
+
+    private static final List<IntentRule> RULES = ChatbotIntents.load(new ClassPathResource("chatbot/intents.yml"));
+    private static final IntentMatcher MATCHER = IntentMatcher.compile(RULES);
+
+    /** The hard-coded regex chain the intents file replaced, in the same order. */
+    private static final Map<Pattern, String> LEGACY = legacyChain();
+
+    private static final List<String> MESSAGES = List.of(
+            "Hello there",
+            "  hey, what can you do?",
+            "history of the company",
+            "What is Jendo?",
+            "Can you tell me about Jendo and its founders",
+            "How does the Jendo device work in practice",
+            "how it works",
+            "Work out how does it",
+            "Is my blood pressure a concern?",
+            "Is the test SAFE for pregnant women",
+            "Does it hurt? I worry about pain",
+            "Which patents do you hold",
+            "How much does a test cost",
+            "I want to book an appointment next week",
+            "What is your phone number",
+            "random question about nothing in particular",
+            "",
+            "good evening, I'd like to know the price",
+            "Tell me about jendo technology and research");
+
+    @Test
+    @DisplayName("Classifies like the regex chain it replaced")
+    void matchesLegacyRegexChain() {
+        for (String message : MESSAGES) {
+            assertThat(respond(message)).as(message).isEqualTo(legacyRespond(message));
+        }
+    }
+
+    @Test
+    @DisplayName("Lower priority values win and prefix intents only match at the start")
+    void honoursPriorityAndPrefix() {
+        IntentMatcher matcher = IntentMatcher.compile(List.of(
+                new IntentRule("late", 50, null, List.of("price"), "late"),
+                new IntentRule("early", 5, null, List.of("cost * test"), "early"),
+                new IntentRule("greet", 1, IntentRule.MatchMode.PREFIX, List.of("hi"), "greet")));
+
+        assertThat(matcher.match("what is the price and cost of a test").name()).isEqualTo("early");
+        assertThat(matcher.match("test cost and price").name()).isEqualTo("late");
+        assertThat(matcher.match("  Hi!").name()).isEqualTo("greet");
+        assertThat(matcher.match("oh hi")).isNull();
+    }
+
+    @ParameterizedTest
+    @Tag("benchmark")
+    @ValueSource(ints = {20, 200, 2_000})
+    @DisplayName("One linear scan beats the regex chain across message lengths")
+    void comparesWithRegexChain(int length) {
+        List<String> messages = realisticMessages(length, 200);
+
+        long regexNanos = time(messages, this::legacyRespond);
+        long automatonNanos = time(messages, this::respond);
+
+        assertThat(automatonNanos)
+                .as("ns per %d-char message, automaton vs regex chain %d ns", length, regexNanos)
+                .isLessThan(regexNanos);
+    }
+
+    private String respond(String message) {
+        IntentRule rule = MATCHER.match(message);
+        return rule != null ? rule.response() : null;
+    }
+
+    private String legacyRespond(String message) {
+        String normalized = message.toLowerCase().trim();
+        for (Map.Entry<Pattern, String> entry : LEGACY.entrySet()) {
+            if (entry.getKey().matcher(normalized).matches()) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private long time(List<String> messages, Function<String, String> classifier) {
+        for (int warmup = 0; warmup < 20; warmup++) {
+            messages.forEach(classifier::apply);
+        }
+        int rounds = 20;
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            messages.forEach(classifier::apply);
+        }
+        return (System.nanoTime() - started) / ((long) rounds * messages.size());
+    }
+
+    /**
+     * Filler chat text with an intent keyword near the end, as in a long
+     * question, or none at all so every rule is tried.
+     */
+    private List<String> realisticMessages(int length, int count) {
+        String[] words = {"i", "was", "wondering", "whether", "my", "doctor", "said", "the", "results", "were",
+                "okay", "and", "also", "could", "you", "explain", "what", "this", "means", "for", "me"};
+        String[] endings = {"how much is it", "is it safe", "who to contact", "", "how does it work", ""};
+        Random random = new Random(42);
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder message = new StringBuilder();
+            String ending = endings[i % endings.length];
+            while (message.length() < length - ending.length()) {
+                message.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            messages.add(message.append(ending).toString());
+        }
+        return messages;
+    }
+
+    private static Map<Pattern, String> legacyChain() {
+        Map<Pattern, String> chain = new LinkedHashMap<>();
+        List<String> regexes = List.of(
+                "(?i)^(hi|hello|hey|good morning|good afternoon|good evening|greetings).*",
+                "(?i).*(what is jendo|tell me about jendo|about jendo|jendo company).*",
+                "(?i).*(how does.*work|how it works|jendo technology|jendo test procedure|test process).*",
+                "(?i).*(heart health|cardiovascular|heart disease|blood pressure|vascular health).*",
+                "(?i).*(safe|safety|painful|pain|comfortable|radiation|invasive).*",
+                "(?i).*(patent|patented|innovation|technology|research).*",
+                "(?i).*(price|cost|how much|booking|schedule|appointment|availability).*",
+                "(?i).*(contact|address|location|phone|email|reach you).*");
+        for (int i = 0; i < regexes.size(); i++) {
+            chain.put(Pattern.compile(regexes.get(i)), RULES.get(i).response());
+        }
+        return chain;
+    }
+}
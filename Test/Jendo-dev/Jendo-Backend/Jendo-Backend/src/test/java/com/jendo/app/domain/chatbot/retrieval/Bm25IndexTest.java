@@ -0,0 +1,44 @@
+package com.jendo.app.domain.chatbot.retrieval;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25IndexTest {
+
+    private final Bm25Index index = new Bm25Index();
+
+    @Test
+    @DisplayName("Ranks the document sharing the rarest query terms first")
+    void ranksByBm25() {
+        index.put("diet", "Heart healthy diet: eat vegetables, whole grains and less salt");
+        index.put("exercise", "Exercise for a healthy heart: walking and swimming");
+        index.put("sleep", "Sleep and stress affect your heart");
+
+        List<Bm25Index.Hit> hits = index.search("How much salt is in my diet?", 3);
+
+        assertThat(hits).extracting(Bm25Index.Hit::documentId).containsExactly("diet");
+        assertThat(hits.get(0).coverage()).isEqualTo(1.0);
+        assertThat(index.search("healthy hearts", 3)).extracting(Bm25Index.Hit::documentId)
+                .containsExactlyInAnyOrder("diet", "exercise", "sleep");
+    }
+
+    @Test
+    @DisplayName("Replacing and removing a document updates only its postings")
+    void updatesIncrementally() {
+        index.put("a", "Blood pressure basics");
+        index.put("b", "Cholesterol explained");
+
+        index.put("a", "Understanding vascular age");
+        assertThat(index.search("blood pressure", 5)).isEmpty();
+        assertThat(index.search("vascular age", 5)).extracting(Bm25Index.Hit::documentId).containsExactly("a");
+
+        index.remove("a");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("vascular age", 5)).isEmpty();
+        assertThat(Bm25Index.terms("What are the tests?")).containsExactly("test");
+    }
+}
@@ -0,0 +1,130 @@
+package com.jendo.app.domain.chatbot.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.common.bulkhead.Bulkheads;
+import com.jendo.app.common.http.HedgedLlmCaller;
+import com.jendo.app.common.http.LlmHttpClient;
+import com.jendo.app.common.http.LlmLoadScenario;
+import com.jendo.app.common.http.StubLlmServer;
+import com.jendo.app.common.ratelimit.AdmissionControl;
+import com.jendo.app.domain.chatbot.cache.ChatResponseCache;
+import com.jendo.app.domain.chatbot.context.ConversationContextStore;
+import com.jendo.app.domain.chatbot.dto.ChatRequest;
+import com.jendo.app.domain.chatbot.dto.ChatResponse;
+import com.jendo.app.domain.chatbot.intent.ChatbotIntents;
+import com.jendo.app.domain.chatbot.retrieval.ChatKnowledgeIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end behaviour of the chatbot's model tier against a local stub of
+ * the Hugging Face API with injected latency, errors and malformed bodies.
+ * The latency and thread budgets are loose enough for a shared CI runner
+ * and tight enough to catch a blocking or unbounded regression.
+ */
+class ChatbotServiceImplFaultInjectionTest {
+
+    private static final String MODEL_ANSWER = "Regular exercise keeps arteries healthy.";
+    private static final String MODEL_BODY = "[{\"generated_text\":\"" + MODEL_ANSWER + "\"}]";
+    private static final String FALLBACK_PREFIX = "Thank you for your question!";
+    private static final int CALLERS = 8;
+    private static final int CALLS = 64;
+    private static final long TIMEOUT_MS = 500;
+
+    private StubLlmServer stub;
+    private ChatResponseCache responseCache;
+    private ChatbotServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubLlmServer();
+        responseCache = mock(ChatResponseCache.class);
+        ConversationContextStore conversationContext = mock(ConversationContextStore.class);
+        when(conversationContext.context(any(), any(), any())).thenReturn("");
+
+        // A high failure threshold keeps the circuit closed so every call reaches the stub
+        LlmHttpClient llmHttpClient = new LlmHttpClient(1000, 2000, 16, 2000, 10_000, 30_000);
+        HedgedLlmCaller hedgedLlmCaller = new HedgedLlmCaller(95, 200, 50, 1000, 60);
+        service = new ChatbotServiceImpl(new ObjectMapper(), llmHttpClient, hedgedLlmCaller,
+                mock(ChatbotIntents.class), responseCache, conversationContext, mock(ChatKnowledgeIndex.class),
+                mock(AdmissionControl.class), mock(Bulkheads.class));
+        ReflectionTestUtils.setField(service, "huggingFacePrimaryUrl", stub.url("/models/primary"));
+        ReflectionTestUtils.setField(service, "huggingFaceBackupUrl", stub.url("/models/backup"));
+        ReflectionTestUtils.setField(service, "huggingFaceTimeoutMs", TIMEOUT_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("A healthy upstream answers every message from the model within the latency budget")
+    void healthyUpstream() throws Exception {
+        stub.respond(200, MODEL_BODY).delay(20, 80);
+
+        LlmLoadScenario.Result<ChatResponse> result = LlmLoadScenario.run(CALLERS, CALLS, this::ask);
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).extracting(ChatResponse::getContent).containsOnly(MODEL_ANSWER);
+        assertThat(result.percentileMs(95)).isLessThan(1000);
+        assertThat(result.peakExtraThreads()).isLessThan(CALLS / 2);
+    }
+
+    @Test
+    @DisplayName("Upstream errors are answered by the backup model or the fallback, never by an exception")
+    void failingUpstream() throws Exception {
+        stub.respond(200, MODEL_BODY).delay(10, 40).failing(0.5, 503);
+
+        LlmLoadScenario.Result<ChatResponse> result = LlmLoadScenario.run(CALLERS, CALLS, this::ask);
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).allSatisfy(response ->
+                assertThat(response.getContent().equals(MODEL_ANSWER) || response.getContent().startsWith(FALLBACK_PREFIX)).isTrue());
+        // Both models have to fail for the fallback; the hedge should rescue most calls
+        assertThat(result.values().stream().filter(response -> MODEL_ANSWER.equals(response.getContent())).count())
+                .isGreaterThanOrEqualTo(CALLS / 2);
+        assertThat(stub.errorsServed()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Malformed model output falls back and is never cached")
+    void malformedUpstream() throws Exception {
+        stub.respond(200, MODEL_BODY).malformed(1.0);
+
+        LlmLoadScenario.Result<ChatResponse> result = LlmLoadScenario.run(CALLERS, CALLS, this::ask);
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).allSatisfy(response -> assertThat(response.getContent()).startsWith(FALLBACK_PREFIX));
+        verify(responseCache, never()).put(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("A hung upstream costs at most the call timeout, not the upstream's delay")
+    void slowUpstream() throws Exception {
+        stub.respond(200, MODEL_BODY).delay(3000);
+
+        LlmLoadScenario.Result<ChatResponse> result = LlmLoadScenario.run(4, 16, this::ask);
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).allSatisfy(response -> assertThat(response.getContent()).startsWith(FALLBACK_PREFIX));
+        assertThat(result.percentileMs(95)).isLessThan(2000);
+    }
+
+    private ChatResponse ask() {
+        ChatRequest request = new ChatRequest();
+        request.setMessage("How can I keep my heart healthy while travelling?");
+        return service.sendMessage(request);
+    }
+}
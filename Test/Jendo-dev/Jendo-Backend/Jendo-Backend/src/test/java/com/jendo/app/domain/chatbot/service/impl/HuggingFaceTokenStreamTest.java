@@ -0,0 +1,43 @@
+package com.jendo.app.domain.chatbot.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HuggingFaceTokenStreamTest {
+
+    private final List<String> received = new ArrayList<>();
+    private final HuggingFaceTokenStream stream = new HuggingFaceTokenStream(new ObjectMapper(), received::add);
+
+    @Test
+    @DisplayName("Forwards generated tokens and skips special, empty and malformed events")
+    void forwardsTokens() {
+        List.of(
+                "data:{\"token\":{\"text\":\"Regular\",\"special\":false}}",
+                "",
+                "data: {\"token\":{\"text\":\" exercise\"}}",
+                "data:{\"token\":{\"text\":\"</s>\",\"special\":true}}",
+                "data:{not json",
+                "data:[DONE]"
+        ).forEach(stream);
+
+        assertThat(received).containsExactly("Regular", " exercise");
+        assertThat(stream.text()).isEqualTo("Regular exercise");
+        assertThat(stream.tokens()).isEqualTo(2);
+        assertThat(stream.rawBody()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Keeps a non-streamed JSON body for regular parsing")
+    void keepsPlainBody() {
+        stream.accept("[{\"generated_text\":\"Hello\"}]");
+
+        assertThat(received).isEmpty();
+        assertThat(stream.rawBody()).isEqualTo("[{\"generated_text\":\"Hello\"}]\n");
+    }
+}
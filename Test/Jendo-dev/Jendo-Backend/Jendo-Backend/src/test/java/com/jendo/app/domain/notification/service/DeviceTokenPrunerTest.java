@@ -0,0 +1,86 @@
+package com.jendo.app.domain.notification.service;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.jendo.app.domain.notification.repository.DeviceTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceTokenPrunerTest {
+
+    private final DeviceTokenRepository repository = mock(DeviceTokenRepository.class);
+    private final DeviceTokenPruner pruner = new DeviceTokenPruner(repository, 5);
+
+    @Test
+    @DisplayName("Unregistered tokens are deactivated and delivered tokens reset")
+    void deactivatesUnregisteredTokens() {
+        pruner.record(new FcmSendReport(List.of("ok"), List.of(
+                failure("gone", MessagingErrorCode.UNREGISTERED),
+                failure("other-app", MessagingErrorCode.SENDER_ID_MISMATCH))));
+
+        verify(repository).recordSuccess(eq(List.of("ok")), any());
+        verify(repository).deactivate(eq(List.of("gone", "other-app")), any());
+        verify(repository, never()).recordFailure(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Invalid-argument tokens are deactivated only when the payload was delivered elsewhere")
+    void invalidArgumentNeedsProofOfValidPayload() {
+        pruner.record(new FcmSendReport(List.of(), List.of(failure("bad", MessagingErrorCode.INVALID_ARGUMENT))));
+
+        verify(repository, never()).deactivate(anyCollection(), any());
+        verify(repository).recordFailure(List.of("bad"));
+        verify(repository).deactivateFailing(eq(List.of("bad")), eq(5), any());
+
+        pruner.record(new FcmSendReport(List.of("ok"), List.of(failure("bad", MessagingErrorCode.INVALID_ARGUMENT))));
+
+        verify(repository).deactivate(eq(List.of("bad")), any());
+    }
+
+    @Test
+    @DisplayName("Service-side errors do not count against the token")
+    void ignoresServiceSideErrors() {
+        pruner.record(new FcmSendReport(List.of(), List.of(
+                failure("a", MessagingErrorCode.UNAVAILABLE),
+                failure("b", MessagingErrorCode.QUOTA_EXCEEDED),
+                failure("c", null))));
+
+        verify(repository, never()).recordFailure(anyCollection());
+        verify(repository, never()).deactivate(anyCollection(), any());
+        verify(repository, never()).deactivateFailing(anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Large reports are written in bounded chunks and repository errors are swallowed")
+    void chunksUpdates() {
+        List<String> delivered = IntStream.range(0, DeviceTokenPruner.UPDATE_CHUNK * 2 + 1)
+                .mapToObj(i -> "token-" + i)
+                .toList();
+        when(repository.recordSuccess(anyCollection(), any())).thenThrow(new IllegalStateException("db down"));
+
+        pruner.record(new FcmSendReport(delivered, List.of()));
+
+        verify(repository, times(1)).recordSuccess(anyCollection(), any());
+
+        DeviceTokenRepository healthy = mock(DeviceTokenRepository.class);
+        new DeviceTokenPruner(healthy, 5).record(new FcmSendReport(delivered, List.of()));
+
+        verify(healthy, times(3)).recordSuccess(anyCollection(), any());
+    }
+
+    private static FcmSendReport.Failure failure(String token, MessagingErrorCode errorCode) {
+        return new FcmSendReport.Failure(token, errorCode, "error");
+    }
+}
@@ -0,0 +1,145 @@
+package com.jendo.app.domain.notification.service;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FirebaseNotificationServiceTest {
+
+    private final FirebaseMessaging messaging = mock(FirebaseMessaging.class);
+    private FirebaseNotificationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Tokens are sent in chunks and every result is mapped back to its token")
+    void sendsInBatches() throws Exception {
+        service = new FirebaseNotificationService(() -> messaging, report -> { }, 2, 2);
+        when(messaging.sendEachForMulticast(any())).thenAnswer(invocation -> {
+            MulticastMessage message = invocation.getArgument(0);
+            int size = tokenCount(message);
+            // The second token of every chunk is unregistered
+            return batch(IntStream.range(0, size)
+                    .mapToObj(i -> i == 1 ? failure(MessagingErrorCode.UNREGISTERED) : success())
+                    .toList());
+        });
+
+        FcmSendReport report = service.sendToTokens(List.of("a", "b", "c", "", "a"), "Title", "Body", Map.of("type", "test"));
+
+        verify(messaging, times(2)).sendEachForMulticast(any());
+        assertThat(report.delivered()).containsExactlyInAnyOrder("a", "c");
+        assertThat(report.failures())
+                .extracting(FcmSendReport.Failure::token, FcmSendReport.Failure::errorCode)
+                .containsExactly(tuple("b", MessagingErrorCode.UNREGISTERED));
+    }
+
+    @Test
+    @DisplayName("A failed batch reports every token in it with the batch error")
+    void reportsWholeBatchFailure() throws Exception {
+        service = new FirebaseNotificationService(() -> messaging, report -> { }, 500, 1);
+        FirebaseMessagingException error = mock(FirebaseMessagingException.class);
+        when(error.getMessagingErrorCode()).thenReturn(MessagingErrorCode.QUOTA_EXCEEDED);
+        when(messaging.sendEachForMulticast(any())).thenThrow(error);
+
+        FcmSendReport report = service.sendToTokens(List.of("a", "b"), "Title", "Body", null);
+
+        assertThat(report.successCount()).isZero();
+        assertThat(report.failures()).extracting(FcmSendReport.Failure::errorCode)
+                .containsOnly(MessagingErrorCode.QUOTA_EXCEEDED);
+        assertThat(report.failureCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("No more batches than the limit are in flight at once")
+    void boundsInFlightBatches() throws Exception {
+        service = new FirebaseNotificationService(() -> messaging, report -> { }, 1, 2);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(messaging.sendEachForMulticast(any())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            active.decrementAndGet();
+            return batch(List.of(success()));
+        });
+
+        FcmSendReport report = service.sendToTokensAsync(List.of("a", "b", "c", "d", "e", "f"), "Title", "Body", null)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(report.successCount()).isEqualTo(6);
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("The shared template carries title, body and data to every token")
+    void buildsTemplateOnce() throws Exception {
+        service = new FirebaseNotificationService(() -> messaging, report -> { }, 500, 1);
+        BatchResponse response = batch(List.of(success(), success()));
+        when(messaging.sendEachForMulticast(any())).thenReturn(response);
+
+        service.sendToTokens(List.of("a", "b"), "Title", "Body", Map.of("type", "reminder"));
+
+        ArgumentCaptor<MulticastMessage> sent = ArgumentCaptor.forClass(MulticastMessage.class);
+        verify(messaging).sendEachForMulticast(sent.capture());
+        assertThat(tokenCount(sent.getValue())).isEqualTo(2);
+    }
+
+    private static int tokenCount(MulticastMessage message) {
+        try {
+            var field = MulticastMessage.class.getDeclaredField("tokens");
+            field.setAccessible(true);
+            return ((List<?>) field.get(message)).size();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static BatchResponse batch(List<SendResponse> responses) {
+        int successes = (int) responses.stream().filter(SendResponse::isSuccessful).count();
+        BatchResponse batch = mock(BatchResponse.class);
+        when(batch.getResponses()).thenReturn(responses);
+        when(batch.getSuccessCount()).thenReturn(successes);
+        when(batch.getFailureCount()).thenReturn(responses.size() - successes);
+        return batch;
+    }
+
+    private static SendResponse success() {
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(true);
+        return response;
+    }
+
+    private static SendResponse failure(MessagingErrorCode errorCode) {
+        FirebaseMessagingException error = mock(FirebaseMessagingException.class);
+        when(error.getMessagingErrorCode()).thenReturn(errorCode);
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(false);
+        when(response.getException()).thenReturn(error);
+        return response;
+    }
+}
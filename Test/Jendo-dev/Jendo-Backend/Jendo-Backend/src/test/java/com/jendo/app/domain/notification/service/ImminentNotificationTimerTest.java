@@ -0,0 +1,80 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.dto.DueNotification;
+import com.jendo.app.domain.notification.event.ScheduledNotificationsChangedEvent;
+import com.jendo.app.domain.notification.repository.ScheduledNotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImminentNotificationTimerTest {
+
+    private final ScheduledNotificationRepository repository = mock(ScheduledNotificationRepository.class);
+    private final NotificationSchedulerService dispatcher = mock(NotificationSchedulerService.class);
+    private final ImminentNotificationTimer timer = new ImminentNotificationTimer(repository, dispatcher, true, 10, 100, 5);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Fires a loaded notification at its time rather than on the next poll")
+    void firesAtScheduledTime() {
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(1);
+        when(repository.findDueBefore(any(), any(), eq(5), any())).thenReturn(List.of(new DueNotification(1L, 10L, soon)));
+
+        timer.start();
+        timer.refresh();
+
+        verify(dispatcher, after(100).never()).sendDue(anyList(), any());
+        verify(dispatcher, timeout(3000)).sendDue(List.of(1L), ImminentNotificationTimer.FIRE_TOLERANCE);
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Cancelled reminders are dropped and rescheduled ones replaced")
+    void appliesAppointmentChanges() {
+        LocalDateTime inAMinute = LocalDateTime.now().plusMinutes(1);
+        when(repository.findDueBefore(any(), any(), anyInt(), any())).thenReturn(List.of(
+                new DueNotification(1L, 10L, inAMinute), new DueNotification(2L, 20L, inAMinute)));
+        timer.refresh();
+        assertThat(timer.size()).isEqualTo(2);
+
+        when(repository.findDueBeforeForAppointment(eq(10L), any())).thenReturn(List.of());
+        timer.onScheduledNotificationsChanged(new ScheduledNotificationsChangedEvent(10L));
+        assertThat(timer.size()).isEqualTo(1);
+
+        when(repository.findDueBeforeForAppointment(eq(20L), any()))
+                .thenReturn(List.of(new DueNotification(3L, 20L, LocalDateTime.now().plusNanos(100_000_000))));
+        timer.onScheduledNotificationsChanged(new ScheduledNotificationsChangedEvent(20L));
+        timer.start();
+
+        verify(dispatcher, timeout(2000)).sendDue(List.of(3L), ImminentNotificationTimer.FIRE_TOLERANCE);
+        verify(dispatcher, never()).sendDue(eq(List.of(1L)), any());
+        verify(dispatcher, never()).sendDue(eq(List.of(2L)), any());
+    }
+
+    @Test
+    @DisplayName("Notifications beyond the horizon are left to the database")
+    void ignoresNotificationsBeyondHorizon() {
+        timer.schedule(new DueNotification(1L, 10L, LocalDateTime.now().plusMinutes(30)));
+
+        assertThat(timer.size()).isZero();
+    }
+}
@@ -0,0 +1,144 @@
+package com.jendo.app.domain.notification.service;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.jendo.app.domain.notification.dto.ClaimedNotification;
+import com.jendo.app.domain.notification.repository.DeviceTokenRepository;
+import com.jendo.app.domain.notification.repository.ScheduledNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationSchedulerServiceTest {
+
+    private final ScheduledNotificationRepository repository = mock(ScheduledNotificationRepository.class);
+    private final DeviceTokenRepository deviceTokenRepository = mock(DeviceTokenRepository.class);
+    private final FirebaseNotificationService firebase = mock(FirebaseNotificationService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private NotificationSchedulerService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(deviceTokenRepository.findActiveTokensByUserId(anyLong())).thenReturn(List.of("token"));
+        when(firebase.sendToTokens(anyList(), anyString(), anyString(), anyMap()))
+                .thenReturn(new FcmSendReport(List.of("token"), List.of()));
+        service = new NotificationSchedulerService(repository, deviceTokenRepository, firebase, transactionTemplate,
+                2, 120, 300, 5);
+    }
+
+    @Test
+    @DisplayName("Claims batches under a lease and marks each row sent by its owner")
+    void claimsAndSendsBatches() {
+        when(repository.lockClaimable(any(), eq(5), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(repository.findClaimed(List.of(1L, 2L))).thenReturn(List.of(notification(1L), notification(2L)));
+        when(repository.findClaimed(List.of(3L))).thenReturn(List.of(notification(3L)));
+
+        service.sendPendingNotifications();
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).claim(anyList(), owner.capture(), leaseUntil.capture());
+        assertThat(leaseUntil.getValue()).isAfter(LocalDateTime.now().plusSeconds(100));
+        verify(firebase, times(3)).sendToTokens(eq(List.of("token")), eq("Title"), eq("Message"), anyMap());
+        verify(repository).markSent(eq(1L), eq(owner.getValue()), any());
+        verify(repository).markSent(eq(3L), eq(owner.getValue()), any());
+        verify(repository, never()).retryAfter(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("A send that reached no device for a retryable reason is rescheduled instead of marked sent")
+    void reschedulesFailedSends() {
+        when(repository.lockClaimable(any(), anyInt(), anyInt())).thenReturn(List.of(1L));
+        when(repository.findClaimed(List.of(1L))).thenReturn(List.of(notification(1L)));
+        when(firebase.sendToTokens(anyList(), anyString(), anyString(), anyMap())).thenReturn(new FcmSendReport(
+                List.of(), List.of(new FcmSendReport.Failure("token", MessagingErrorCode.UNAVAILABLE, "fcm down"))));
+
+        service.sendPendingNotifications();
+
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).retryAfter(eq(1L), anyString(), retryAt.capture());
+        assertThat(retryAt.getValue()).isAfter(LocalDateTime.now().plusSeconds(250));
+        verify(repository, never()).markSent(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("A retryable failure on the last allowed attempt marks the row failed")
+    void marksExhaustedSendsFailed() {
+        when(repository.lockClaimable(any(), anyInt(), anyInt())).thenReturn(List.of(1L));
+        when(repository.findClaimed(List.of(1L))).thenReturn(List.of(
+                new ClaimedNotification(1L, 7L, "APPOINTMENT_REMINDER", "Title", "Message", 11L, 5)));
+        when(firebase.sendToTokens(anyList(), anyString(), anyString(), anyMap())).thenReturn(new FcmSendReport(
+                List.of(), List.of(new FcmSendReport.Failure("token", MessagingErrorCode.UNAVAILABLE, "fcm down"))));
+
+        service.sendPendingNotifications();
+
+        verify(repository).failExhausted(eq(5), any());
+        verify(repository).markFailed(eq(1L), anyString(), any());
+        verify(repository, never()).retryAfter(anyLong(), anyString(), any());
+        verify(repository, never()).markSent(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Sends that failed only for token reasons are final and marked sent")
+    void marksPermanentFailuresSent() {
+        when(repository.lockClaimable(any(), anyInt(), anyInt())).thenReturn(List.of(1L));
+        when(repository.findClaimed(List.of(1L))).thenReturn(List.of(notification(1L)));
+        when(firebase.sendToTokens(anyList(), anyString(), anyString(), anyMap())).thenReturn(new FcmSendReport(
+                List.of(), List.of(new FcmSendReport.Failure("token", MessagingErrorCode.UNREGISTERED, "gone"))));
+
+        service.sendPendingNotifications();
+
+        verify(repository).markSent(eq(1L), anyString(), any());
+        verify(repository, never()).retryAfter(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Timer-fired notifications are claimed by id, with rows held elsewhere skipped")
+    void sendsTimerFiredNotifications() {
+        when(repository.lockClaimableIn(eq(List.of(1L, 2L)), any(), eq(5))).thenReturn(List.of(2L));
+        when(repository.findClaimed(List.of(2L))).thenReturn(List.of(notification(2L)));
+
+        int sent = service.sendDue(List.of(1L, 2L), Duration.ofSeconds(1));
+
+        assertThat(sent).isEqualTo(1);
+        verify(repository).markSent(eq(2L), anyString(), any());
+        verify(repository, never()).lockClaimable(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Nothing is claimed or sent when no rows are due")
+    void idleWhenNothingDue() {
+        when(repository.lockClaimable(any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        service.sendPendingNotifications();
+
+        verify(repository, never()).claim(anyList(), anyString(), any());
+        verify(firebase, never()).sendToTokens(anyList(), anyString(), anyString(), anyMap());
+    }
+
+    private static ClaimedNotification notification(Long id) {
+        return new ClaimedNotification(id, 7L, "APPOINTMENT_REMINDER", "Title", "Message", 11L, 1);
+    }
+}
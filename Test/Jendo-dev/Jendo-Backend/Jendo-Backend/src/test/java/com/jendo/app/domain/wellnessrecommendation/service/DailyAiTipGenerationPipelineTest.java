@@ -0,0 +1,141 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.domain.wellnessrecommendation.dto.DailyTipGenerationSummary;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import com.jendo.app.domain.wellnessrecommendation.repository.DailyAiTipRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyAiTipGenerationPipelineTest {
+
+    private static final int PAGE_SIZE = 200;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JendoTestRepository jendoTestRepository;
+
+    @Mock
+    private DailyAiTipRepository dailyAiTipRepository;
+
+    @Mock
+    private DailyAiTipGenerator generator;
+
+    @Spy
+    private DailyAiTipPayloadCodec payloadCodec = new DailyAiTipPayloadCodec(DailyAiTipPayloadCodec.Format.SMILE_DEFLATE);
+
+    @InjectMocks
+    private DailyAiTipGenerationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pipeline, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(pipeline, "concurrency", 4);
+        ReflectionTestUtils.setField(pipeline, "rateLimitPerSecond", 1_000_000d);
+        ReflectionTestUtils.setField(pipeline, "rateLimitBurst", 1_000);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 1);
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 0L);
+
+        when(generator.isConfigured()).thenReturn(false);
+        when(generator.fallbackByRisk(anyString())).thenReturn(Map.of("diet", List.of(
+                WellnessRecommendationDto.builder().title("Tip").category("diet").build())));
+        when(dailyAiTipRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(dailyAiTipRepository.findUserIdsWithTipAt(anyCollection(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> idsWhere(invocation.getArgument(0), 0));
+        when(jendoTestRepository.findLatestByUserIds(anyCollection()))
+                .thenAnswer(invocation -> idsWhere(invocation.getArgument(0), 1).stream()
+                        .map(id -> JendoTest.builder().id(id).riskLevel("LOW").user(User.builder().id(id).build()).build())
+                        .toList());
+    }
+
+    @ParameterizedTest(name = "{0} users")
+    @ValueSource(ints = {10_000, 100_000})
+    @DisplayName("Nightly run issues a constant number of queries per page instead of 2 per user")
+    void run_QueryCountPerPage(int users) {
+        when(userRepository.findIdsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return LongStream.rangeClosed(after + 1, Math.min(users, after + PAGE_SIZE)).boxed().toList();
+        });
+
+        DailyTipGenerationSummary summary = pipeline.run(DailyTipWindow.containing(LocalDateTime.now()));
+
+        int pages = users / PAGE_SIZE;
+        long queries = mockingDetails(userRepository).getInvocations().size()
+                + mockingDetails(jendoTestRepository).getInvocations().size()
+                + mockingDetails(dailyAiTipRepository).getInvocations().size();
+        long perUserLookups = 1 + 2L * users;
+
+        // one keyset page + two prefetches + one batched insert per page, plus the final empty page
+        assertThat(queries).isEqualTo(4L * pages + 1);
+        assertThat(queries).isLessThan(perUserLookups / 50);
+
+        assertThat(summary.getTotalUsers()).isEqualTo(users);
+        assertThat(summary.getSkippedExisting()).isEqualTo(users / 4);
+        assertThat(summary.getSkippedNoTest()).isEqualTo(users / 2);
+        assertThat(summary.getGenerated()).isEqualTo(users / 4);
+        assertThat(summary.getFailed()).isZero();
+    }
+
+    @Test
+    @DisplayName("A failed batch save is retried row by row and only the bad rows count as failed")
+    void run_BatchFailureFallsBackToRowSaves() {
+        when(userRepository.findIdsAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(LongStream.rangeClosed(1, 40).boxed().toList(), List.of());
+        when(dailyAiTipRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        when(dailyAiTipRepository.save(any(DailyAiTip.class))).thenAnswer(invocation -> {
+            DailyAiTip tip = invocation.getArgument(0);
+            if (tip.getUserId() == 6L) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            return tip;
+        });
+
+        DailyTipGenerationSummary summary = pipeline.run(DailyTipWindow.containing(LocalDateTime.now()));
+
+        verify(dailyAiTipRepository, times(10)).save(any(DailyAiTip.class));
+        assertThat(summary.getGenerated()).isEqualTo(9);
+        assertThat(summary.getFailed()).isEqualTo(1);
+    }
+
+    // ids with (id % 4) == remainder already have a tip; odd ids have no Jendo test
+    private static List<Long> idsWhere(Collection<Long> ids, int remainder) {
+        return ids.stream()
+                .filter(id -> remainder == 0 ? id % 4 == 0 : id % 2 == 0 && id % 4 != 0)
+                .toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.common.bulkhead.Bulkheads;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import com.jendo.app.domain.wellnessrecommendation.repository.DailyAiTipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyAiTipOnDemandGeneratorTest {
+
+    private static final Map<String, List<WellnessRecommendationDto>> AI_TIPS =
+            Map.of("diet", List.of(WellnessRecommendationDto.builder().title("AI").build()));
+    private static final Map<String, List<WellnessRecommendationDto>> STATIC_TIPS =
+            Map.of("diet", List.of(WellnessRecommendationDto.builder().title("Static").build()));
+
+    @Mock
+    private DailyAiTipGenerator generator;
+
+    @Mock
+    private DailyAiTipRepository dailyAiTipRepository;
+
+    @Mock
+    private DailyAiTipCache tipCache;
+
+    private final DailyAiTipPayloadCodec payloadCodec = new DailyAiTipPayloadCodec(DailyAiTipPayloadCodec.Format.SMILE_DEFLATE);
+    private final DailyTipWindow window = DailyTipWindow.containing(LocalDateTime.now());
+    private final Bulkheads bulkheads = new Bulkheads(1, 1, 2, 10, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        bulkheads.wellness().shutdown();
+    }
+
+    @Test
+    @DisplayName("Concurrent requests for one user share a single generation")
+    void coalescesConcurrentRequests() throws Exception {
+        DailyAiTipOnDemandGenerator onDemand = onDemand(5_000);
+        JendoTest test = test();
+        CountDownLatch release = new CountDownLatch(1);
+        when(generator.generate(eq(test), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return AI_TIPS;
+        });
+        when(dailyAiTipRepository.save(any(DailyAiTip.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CompletableFuture<Map<String, List<WellnessRecommendationDto>>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(onDemand.generate(7L, window, test));
+        }
+        assertThat(results).noneMatch(CompletableFuture::isDone);
+        release.countDown();
+
+        for (CompletableFuture<Map<String, List<WellnessRecommendationDto>>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(AI_TIPS);
+        }
+        verify(generator, times(1)).generate(eq(test), any());
+        verify(dailyAiTipRepository, times(1)).save(any(DailyAiTip.class));
+        verify(tipCache, times(1)).put(7L, window, AI_TIPS);
+    }
+
+    @Test
+    @DisplayName("A slow generation serves the static fallback and still completes in the background")
+    void fallsBackAfterTimeout() throws Exception {
+        DailyAiTipOnDemandGenerator onDemand = onDemand(50);
+        JendoTest test = test();
+        when(generator.generate(eq(test), any())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return AI_TIPS;
+        });
+        when(generator.fallbackByRisk("HIGH")).thenReturn(STATIC_TIPS);
+        when(dailyAiTipRepository.save(any(DailyAiTip.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(onDemand.generate(7L, window, test).get(2, TimeUnit.SECONDS)).isEqualTo(STATIC_TIPS);
+
+        verify(tipCache, timeout(2_000)).put(7L, window, AI_TIPS);
+    }
+
+    private DailyAiTipOnDemandGenerator onDemand(long waitTimeoutMs) {
+        return new DailyAiTipOnDemandGenerator(generator, dailyAiTipRepository, payloadCodec, tipCache, bulkheads, waitTimeoutMs);
+    }
+
+    private JendoTest test() {
+        JendoTest test = new JendoTest();
+        test.setId(1L);
+        test.setRiskLevel("HIGH");
+        return test;
+    }
+}
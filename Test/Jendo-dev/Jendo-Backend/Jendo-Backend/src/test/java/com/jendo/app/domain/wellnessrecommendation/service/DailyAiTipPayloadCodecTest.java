@@ -0,0 +1,85 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import com.jendo.app.domain.wellnessrecommendation.service.DailyAiTipPayloadCodec.Format;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyAiTipPayloadCodecTest {
+
+    private final DailyAiTipPayloadCodec codec = new DailyAiTipPayloadCodec(Format.SMILE_DEFLATE);
+
+    /** Same settings as the @Primary mapper that wrote the TEXT rows. */
+    private final ObjectMapper legacyMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    @DisplayName("Every format decodes to the same tips as a legacy TEXT row")
+    void roundTrips(Format format) throws Exception {
+        Map<String, List<WellnessRecommendationDto>> tips = sampleTips();
+        DailyAiTip legacyRow = DailyAiTip.builder().payloadJson(legacyMapper.writeValueAsString(tips)).build();
+        DailyAiTip binaryRow = DailyAiTip.builder().payload(codec.encode(tips, format)).build();
+
+        Map<String, List<WellnessRecommendationDto>> fromLegacy = codec.decode(legacyRow);
+        assertThat(fromLegacy.get("diet")).hasSize(3);
+        assertThat(fromLegacy.get("diet").get(0).getTitle()).isEqualTo("🥗 diet tip 0");
+        assertThat(codec.decode(binaryRow)).isEqualTo(fromLegacy);
+    }
+
+    @Test
+    @DisplayName("Unknown or missing payloads decode to an empty map")
+    void unreadablePayloads() {
+        assertThat(codec.decode(DailyAiTip.builder().payload(new byte[]{99, 1, 2}).build())).isEmpty();
+        assertThat(codec.decode(DailyAiTip.builder().build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Binary formats are smaller on disk than the pretty-printed TEXT payload")
+    void binaryFormatsAreSmaller() throws Exception {
+        Map<String, List<WellnessRecommendationDto>> tips = sampleTips();
+        int legacyBytes = legacyMapper.writeValueAsString(tips).getBytes(StandardCharsets.UTF_8).length;
+
+        for (Format format : Format.values()) {
+            assertThat(codec.encode(tips, format).length).as(format.name()).isLessThan(legacyBytes);
+        }
+    }
+
+    private Map<String, List<WellnessRecommendationDto>> sampleTips() {
+        Map<String, List<WellnessRecommendationDto>> tips = new LinkedHashMap<>();
+        for (String category : List.of("diet", "exercise", "sleep", "stress")) {
+            String emoji = category.equals("diet") ? "🥗 " : "";
+            List<WellnessRecommendationDto> items = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                items.add(WellnessRecommendationDto.builder()
+                        .title(emoji + category + " tip " + i)
+                        .description("Short " + category + " advice number " + i + " with a few more words to be realistic.")
+                        .longDescription("Longer " + category + " guidance " + i + " explaining why and how, "
+                                + "written in a friendly tone with enough detail to reach the expected length.")
+                        .category(category)
+                        .riskLevel("MODERATE")
+                        .priority(0)
+                        .isActive(true)
+                        .build());
+            }
+            tips.put(category, items);
+        }
+        return tips;
+    }
+}
@@ -0,0 +1,155 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class GroqTipResponseParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GroqTipResponseParser parser = new GroqTipResponseParser(objectMapper);
+
+    @Test
+    @DisplayName("Extracts fenced tips from choices[0].message.content into DTOs")
+    void parsesFencedContent() throws Exception {
+        Map<String, List<WellnessRecommendationDto>> tips = parser.parse(completion(fencedTips()), "HIGH");
+
+        assertThat(tips).containsOnlyKeys("diet", "exercise", "sleep", "stress");
+        assertThat(tips.get("diet")).hasSize(3);
+        WellnessRecommendationDto first = tips.get("diet").get(0);
+        assertThat(first.getTitle()).isEqualTo("🥗 diet tip 0");
+        assertThat(first.getCategory()).isEqualTo("diet");
+        assertThat(first.getRiskLevel()).isEqualTo("HIGH");
+        assertThat(tips.get("sleep").get(0).getLongDescription()).isEqualTo(tips.get("sleep").get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Matches the tree-and-regex path it replaces")
+    void matchesLegacyPath() throws Exception {
+        String body = completion(fencedTips());
+
+        assertThat(parser.parse(body, "LOW")).isEqualTo(legacyParse(body, "LOW"));
+    }
+
+    @Test
+    @DisplayName("Missing content or malformed tips are reported as IllegalStateException")
+    void rejectsMalformed() throws Exception {
+        assertThatThrownBy(() -> parser.parse("{\"choices\":[]}", "LOW"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parser.parse(completion("```json\n{\"diet\": [ {\"title\": }\n```"), "LOW"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Streaming allocates less per response than the tree-and-regex path")
+    void allocatesLessThanLegacyPath() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counters are not available on this JVM");
+        String body = completion(fencedTips());
+        int iterations = 2_000;
+
+        Measurement legacy = measure(iterations, () -> legacyParse(body, "LOW"));
+        Measurement streaming = measure(iterations, () -> parser.parse(body, "LOW"));
+
+        assertThat(streaming.bytesPerOp)
+                .as("bytes per response, streaming %s vs legacy %s", streaming, legacy)
+                .isLessThan(legacy.bytesPerOp);
+    }
+
+    private Measurement measure(int iterations, Supplier<Object> operation) {
+        for (int i = 0; i < iterations; i++) {
+            operation.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new Measurement(allocated / iterations, elapsed / iterations);
+    }
+
+    /**
+     * The pre-streaming implementation: raw Map, tree conversion, regex fence
+     * stripping and a second parse into nested maps.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, List<WellnessRecommendationDto>> legacyParse(String body, String riskLevel) {
+        try {
+            Map<String, Object> response = objectMapper.readValue(body, Map.class);
+            JsonNode root = objectMapper.valueToTree(response);
+            String text = root.path("choices").get(0).path("message").path("content").asText();
+            String json = text.replaceAll("(?s)```json", "").replaceAll("(?s)```", "").trim();
+            Map<String, List<Map<String, String>>> parsed = objectMapper.readValue(json, new TypeReference<>() {});
+            Map<String, List<WellnessRecommendationDto>> result = new HashMap<>();
+            parsed.forEach((category, items) -> result.put(category, items.stream()
+                    .limit(3)
+                    .map(item -> WellnessRecommendationDto.builder()
+                            .title(item.getOrDefault("title", "Tip"))
+                            .description(item.getOrDefault("description", ""))
+                            .longDescription(item.getOrDefault("longDescription", item.getOrDefault("description", "")))
+                            .category(category)
+                            .riskLevel(riskLevel)
+                            .priority(0)
+                            .isActive(true)
+                            .build())
+                    .collect(Collectors.toList())));
+            return result;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String completion(String content) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "id", "chatcmpl-1",
+                "object", "chat.completion",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", content),
+                        "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", 180, "completion_tokens", 640)));
+    }
+
+    private String fencedTips() throws Exception {
+        Map<String, Object> tips = new HashMap<>();
+        for (String category : List.of("diet", "exercise", "sleep", "stress")) {
+            String emoji = category.equals("diet") ? "🥗 " : "";
+            List<Map<String, String>> items = new java.util.ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Map<String, String> item = new HashMap<>();
+                item.put("title", emoji + category + " tip " + i);
+                item.put("description", "Short " + category + " advice number " + i + " with a few more words to be realistic.");
+                if (!category.equals("sleep")) {
+                    item.put("longDescription", "Longer " + category + " guidance " + i + " explaining why and how, "
+                            + "written in a friendly tone with enough detail to reach the expected length.");
+                }
+                items.add(item);
+            }
+            tips.put(category, items);
+        }
+        return "```json\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(tips) + "\n```";
+    }
+
+    private record Measurement(long bytesPerOp, long nanosPerOp) {
+    }
+}
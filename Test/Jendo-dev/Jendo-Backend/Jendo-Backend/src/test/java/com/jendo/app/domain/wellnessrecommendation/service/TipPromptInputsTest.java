@@ -0,0 +1,31 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TipPromptInputsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Test
+    @DisplayName("Risk level keeps its recorded form but is case-insensitive in the fingerprint")
+    void riskLevelCaseOnlyAffectsFingerprint() {
+        TipPromptInputs mixed = TipPromptInputs.of(test(" Moderate"), DAY, TipPromptInputs.Bucketing.NONE);
+        TipPromptInputs upper = TipPromptInputs.of(test("MODERATE"), DAY, TipPromptInputs.Bucketing.NONE);
+
+        assertThat(mixed.riskLevel()).isEqualTo(" Moderate");
+        assertThat(mixed.fingerprint()).isEqualTo(upper.fingerprint());
+    }
+
+    private static JendoTest test(String riskLevel) {
+        JendoTest test = new JendoTest();
+        test.setRiskLevel(riskLevel);
+        test.setHeartRate(72);
+        return test;
+    }
+}
@@ -0,0 +1,151 @@
+package com.jendo.app.domain.wellnessrecommendation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.common.bulkhead.Bulkheads;
+import com.jendo.app.common.http.LlmHttpClient;
+import com.jendo.app.common.http.LlmLoadScenario;
+import com.jendo.app.common.http.StubLlmServer;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
+import com.jendo.app.domain.wellnessrecommendation.dto.WellnessRecommendationDto;
+import com.jendo.app.domain.wellnessrecommendation.entity.DailyAiTip;
+import com.jendo.app.domain.wellnessrecommendation.mapper.WellnessRecommendationMapper;
+import com.jendo.app.domain.wellnessrecommendation.repository.DailyAiTipRepository;
+import com.jendo.app.domain.wellnessrecommendation.repository.WellnessRecommendationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end behaviour of on-demand daily tips against a local stub of the
+ * Groq API with injected latency, errors and malformed bodies. Each caller
+ * is a different user with different vitals, so every request needs its
+ * own Groq call.
+ */
+class WellnessRecommendationServiceImplFaultInjectionTest {
+
+    private static final int CALLERS = 8;
+    private static final int CALLS = 40;
+    private static final long WAIT_TIMEOUT_MS = 500;
+    private static final Map<String, List<WellnessRecommendationDto>> STATIC_TIPS =
+            Map.of("diet", List.of(WellnessRecommendationDto.builder().title("Static").build()));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong users = new AtomicLong();
+    private StubLlmServer stub;
+    private Bulkheads bulkheads;
+    private WellnessRecommendationServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubLlmServer();
+        WellnessRecommendationCatalog catalog = mock(WellnessRecommendationCatalog.class);
+        when(catalog.fallbackTips(any())).thenReturn(STATIC_TIPS);
+        JendoTestRepository jendoTestRepository = mock(JendoTestRepository.class);
+        when(jendoTestRepository.findFirstByUserIdOrderByTestDateDescCreatedAtDesc(anyLong()))
+                .thenAnswer(invocation -> Optional.of(test(invocation.getArgument(0))));
+        DailyAiTipRepository dailyAiTipRepository = mock(DailyAiTipRepository.class);
+        when(dailyAiTipRepository.save(any(DailyAiTip.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LlmHttpClient llmHttpClient = new LlmHttpClient(1000, 2000, 16, 2000, 10_000, 30_000);
+        DailyAiTipGenerator generator = new DailyAiTipGenerator(catalog, objectMapper, llmHttpClient,
+                new GroqTipResponseParser(objectMapper));
+        ReflectionTestUtils.setField(generator, "groqApiKey", "test-key");
+        ReflectionTestUtils.setField(generator, "groqUrl", stub.url("/openai/v1/chat/completions"));
+        ReflectionTestUtils.setField(generator, "fingerprintCacheSize", 5000L);
+        generator.init();
+
+        DailyAiTipPayloadCodec payloadCodec = new DailyAiTipPayloadCodec(DailyAiTipPayloadCodec.Format.SMILE_DEFLATE);
+        DailyAiTipCache tipCache = mock(DailyAiTipCache.class);
+        when(tipCache.get(anyLong(), any())).thenReturn(null);
+        bulkheads = new Bulkheads(1, 1, 4, 100, 1, 1);
+        DailyAiTipOnDemandGenerator onDemandGenerator = new DailyAiTipOnDemandGenerator(generator, dailyAiTipRepository,
+                payloadCodec, tipCache, bulkheads, WAIT_TIMEOUT_MS);
+        service = new WellnessRecommendationServiceImpl(mock(WellnessRecommendationRepository.class), jendoTestRepository,
+                dailyAiTipRepository, mock(WellnessRecommendationMapper.class), generator,
+                mock(DailyAiTipGenerationPipeline.class), onDemandGenerator, tipCache, payloadCodec, catalog,
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkheads.wellness().shutdown();
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("A healthy upstream serves AI tips to every user within the latency budget")
+    void healthyUpstream() throws Exception {
+        stub.respond(200, groqBody()).delay(20, 80);
+
+        LlmLoadScenario.Result<Map<String, List<WellnessRecommendationDto>>> result = run();
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).allSatisfy(tips ->
+                assertThat(tips.get("diet")).extracting(WellnessRecommendationDto::getTitle).containsExactly("Eat greens"));
+        assertThat(result.percentileMs(95)).isLessThan(WAIT_TIMEOUT_MS);
+        assertThat(result.peakExtraThreads()).isLessThan(CALLS / 2);
+        assertThat(stub.requests()).isEqualTo(CALLS);
+    }
+
+    @Test
+    @DisplayName("Upstream errors and malformed bodies fall back to the static tips")
+    void failingUpstream() throws Exception {
+        stub.respond(200, groqBody()).delay(10, 40).failing(0.3, 500).malformed(0.5);
+
+        LlmLoadScenario.Result<Map<String, List<WellnessRecommendationDto>>> result = run();
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).allSatisfy(tips -> assertThat(tips.containsKey("diet")).isTrue());
+        long staticServed = result.values().stream().filter(STATIC_TIPS::equals).count();
+        assertThat(staticServed).isEqualTo(stub.errorsServed() + stub.malformedServed());
+    }
+
+    @Test
+    @DisplayName("A hung upstream is cut off at the on-demand wait, not the upstream's delay")
+    void slowUpstream() throws Exception {
+        stub.respond(200, groqBody()).delay(3000);
+
+        LlmLoadScenario.Result<Map<String, List<WellnessRecommendationDto>>> result = run();
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.values()).containsOnly(STATIC_TIPS);
+        assertThat(result.percentileMs(95)).isLessThan(WAIT_TIMEOUT_MS + 500);
+    }
+
+    private LlmLoadScenario.Result<Map<String, List<WellnessRecommendationDto>>> run() throws InterruptedException {
+        return LlmLoadScenario.run(CALLERS, CALLS, () -> service.getDailyAiTips(users.incrementAndGet()).join());
+    }
+
+    private String groqBody() throws Exception {
+        Map<String, Object> tip = Map.of("title", "Eat greens", "description", "Short", "longDescription", "Long");
+        String content = objectMapper.writeValueAsString(Map.of(
+                "diet", List.of(tip), "exercise", List.of(tip), "sleep", List.of(tip), "stress", List.of(tip)));
+        return objectMapper.writeValueAsString(Map.of(
+                "choices", List.of(Map.of("message", Map.of("role", "assistant", "content", content)))));
+    }
+
+    private static JendoTest test(long userId) {
+        JendoTest test = new JendoTest();
+        test.setId(userId);
+        test.setRiskLevel("MODERATE");
+        test.setScore(BigDecimal.valueOf(60));
+        test.setHeartRate(60 + (int) userId);
+        return test;
+    }
+}